@@ -3,9 +3,13 @@ package ru.practicum.ewm;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.FilterType;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
-@ComponentScan({"ru.practicum.ewm", "ru.practicum.stat"})
+@ComponentScan(basePackages = {"ru.practicum.ewm", "ru.practicum.stat"},
+        excludeFilters = @ComponentScan.Filter(type = FilterType.REGEX, pattern = "ru\\.practicum\\.stat\\.service\\..*"))
+@EnableScheduling
 public class MainApp {
     public static void main(String[] args) {
         SpringApplication.run(MainApp.class, args);
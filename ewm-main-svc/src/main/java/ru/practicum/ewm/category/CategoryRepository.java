@@ -1,10 +1,14 @@
 package ru.practicum.ewm.category;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import ru.practicum.ewm.category.model.Category;
 
 public interface CategoryRepository extends JpaRepository<Category,Long> {
 
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
     boolean existsByName(String name);
 
 }
@@ -5,8 +5,10 @@ import jakarta.validation.constraints.PositiveOrZero;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import ru.practicum.ewm.category.dto.CategoryDto;
 import ru.practicum.ewm.category.service.CategoryService;
+import ru.practicum.ewm.common.ContentVersions;
 
 import java.util.List;
 
@@ -17,17 +19,30 @@ import java.util.List;
 public class PublicCategoryController {
 
     private final CategoryService service;
+    private final ContentVersions contentVersions;
 
     @GetMapping("/{catId}")
-    public CategoryDto getCategoryById(@PathVariable Long catId) {
+    public CategoryDto getCategoryById(@PathVariable Long catId, WebRequest request) {
         log.info("GET запрос на получение категории c id: {}", catId);
+        if (isNotModified(request)) {
+            return null;
+        }
         return service.getCategoryById(catId);
     }
 
     @GetMapping
     public List<CategoryDto> getAllCategories(@RequestParam(defaultValue = "0") @PositiveOrZero int from,
-                                              @RequestParam(defaultValue = "10") @Positive int size) {
+                                              @RequestParam(defaultValue = "10") @Positive int size,
+                                              WebRequest request) {
         log.info("GET запрос на получение списка всех категорий.");
+        if (isNotModified(request)) {
+            return null;
+        }
         return service.getAllCategories(from, size);
     }
+
+    private boolean isNotModified(WebRequest request) {
+        ContentVersions.Stamp stamp = contentVersions.categories();
+        return request.checkNotModified(stamp.etag(), stamp.lastModified());
+    }
 }
\ No newline at end of file
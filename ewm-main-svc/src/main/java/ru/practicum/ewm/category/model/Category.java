@@ -3,6 +3,8 @@ package ru.practicum.ewm.category.model;
 import jakarta.persistence.*;
 import lombok.*;
 import lombok.experimental.FieldDefaults;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Data
 @FieldDefaults(level = AccessLevel.PRIVATE)
@@ -11,6 +13,8 @@ import lombok.experimental.FieldDefaults;
 @Builder
 @Entity
 @Table(name = "categories")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class Category {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -14,7 +14,9 @@ import ru.practicum.ewm.category.dto.NewCategoryDto;
 import ru.practicum.ewm.category.dto.UpdateCategoryDto;
 import ru.practicum.ewm.category.mapper.CategoryMapper;
 import ru.practicum.ewm.category.model.Category;
+import ru.practicum.ewm.common.ContentVersions;
 import ru.practicum.ewm.event.EventRepository;
+import ru.practicum.ewm.event.service.EventDetailsCache;
 import ru.practicum.ewm.exception.ConflictException;
 import ru.practicum.ewm.exception.DuplicatedDataException;
 import ru.practicum.ewm.exception.NotFoundException;
@@ -22,6 +24,8 @@ import ru.practicum.ewm.exception.NotFoundException;
 import java.util.List;
 import java.util.stream.Collectors;
 
+import static ru.practicum.ewm.common.ContentVersions.Resource.CATEGORIES;
+
 @Service
 @RequiredArgsConstructor
 @Slf4j
@@ -30,6 +34,8 @@ public class CategoryServiceImpl implements CategoryService {
 
     CategoryRepository categoryRepository;
     EventRepository eventRepository;
+    EventDetailsCache eventDetailsCache;
+    ContentVersions contentVersions;
 
     @Override
     @Transactional
@@ -40,6 +46,7 @@ public class CategoryServiceImpl implements CategoryService {
         }
         Category category = CategoryMapper.toNewCategoryFromDto(newCategoryDto);
         Category createdCategory = categoryRepository.save(category);
+        contentVersions.changed(CATEGORIES);
         log.info("Категория успешно создана с ID: {}", createdCategory.getId());
         return CategoryMapper.toCategoryDto(createdCategory);
     }
@@ -51,6 +58,7 @@ public class CategoryServiceImpl implements CategoryService {
             throw new ConflictException("Невозможно удалить категорию, так как с ней связаны события.");
         }
         categoryRepository.deleteById(id);
+        contentVersions.changed(CATEGORIES);
     }
 
     @Override
@@ -64,6 +72,8 @@ public class CategoryServiceImpl implements CategoryService {
         category.setName(newName);
 
         categoryRepository.save(category);
+        eventDetailsCache.clear();
+        contentVersions.changed(CATEGORIES);
         log.info("Категория с ID {} успешно обновлена.", catId);
         return CategoryMapper.toCategoryDto(category);
     }
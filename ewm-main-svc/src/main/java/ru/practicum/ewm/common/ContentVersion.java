@@ -0,0 +1,25 @@
+package ru.practicum.ewm.common;
+
+import jakarta.persistence.*;
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+import java.time.LocalDateTime;
+
+@Data
+@Entity
+@Table(name = "content_versions")
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@NoArgsConstructor
+@AllArgsConstructor
+public class ContentVersion {
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(length = 20)
+    ContentVersions.Resource resource;
+
+    Long version;
+
+    @Column(name = "updated_on")
+    LocalDateTime updatedOn;
+}
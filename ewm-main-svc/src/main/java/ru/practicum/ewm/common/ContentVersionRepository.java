@@ -0,0 +1,19 @@
+package ru.practicum.ewm.common;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+
+public interface ContentVersionRepository extends JpaRepository<ContentVersion, ContentVersions.Resource> {
+
+    @Modifying
+    @Query("""
+                UPDATE ContentVersion v
+                SET v.version = v.version + 1, v.updatedOn = LOCAL DATETIME
+                WHERE v.resource IN :resources
+            """)
+    int increment(@Param("resources") Collection<ContentVersions.Resource> resources);
+}
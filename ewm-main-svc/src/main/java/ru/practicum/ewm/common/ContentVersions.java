@@ -0,0 +1,102 @@
+package ru.practicum.ewm.common;
+
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.springframework.stereotype.Component;
+import ru.practicum.ewm.compilation.CompilationRepository;
+import ru.practicum.ewm.enums.EventState;
+import ru.practicum.ewm.event.EventRepository;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.StringJoiner;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * ETag и Last-Modified публичных данных для условных GET-запросов. Версии категорий и подборок хранятся
+ * в таблице content_versions и увеличиваются в транзакции изменения, изменения событий отмечаются колонкой
+ * events.updated_on. Поэтому все экземпляры сервиса отдают одинаковые отметки, а вычисляются они
+ * несколькими запросами по первичному ключу и индексам.
+ * Отметки событий берутся по времени сервера БД: изменение, закоммиченное позже более нового,
+ * может не сдвинуть максимум и станет видно клиентам со следующим изменением.
+ */
+@Component
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class ContentVersions {
+
+    public enum Resource {
+        CATEGORIES,
+        COMPILATIONS,
+        // Удаление событий вместе с инициатором, которое не оставляет следа в events.updated_on
+        EVENTS
+    }
+
+    ContentVersionRepository contentVersionRepository;
+    EventRepository eventRepository;
+    CompilationRepository compilationRepository;
+    ReadOnlyTransaction readOnlyTransaction;
+
+    // Вызывается в транзакции изменения, чтобы новая версия стала видна вместе с самим изменением
+    public void changed(Resource... resources) {
+        contentVersionRepository.increment(List.of(resources));
+    }
+
+    public Stamp categories() {
+        return readOnlyTransaction.execute(() -> stamp(List.of(Resource.CATEGORIES)));
+    }
+
+    public Stamp compilations() {
+        return readOnlyTransaction.execute(() -> stamp(
+                List.of(Resource.COMPILATIONS, Resource.CATEGORIES, Resource.EVENTS),
+                compilationRepository.findLastEventUpdatedOn()));
+    }
+
+    // Начавшиеся события пропадают из выдачи без изменения строк, поэтому в отметку входит дата последнего из них
+    public Stamp events() {
+        return readOnlyTransaction.execute(() -> stamp(
+                List.of(Resource.CATEGORIES, Resource.EVENTS),
+                eventRepository.findLastUpdatedOn(),
+                eventRepository.findLastStartedEventDate(EventState.PUBLISHED, LocalDateTime.now())));
+    }
+
+    public Optional<Stamp> event(Long eventId) {
+        return readOnlyTransaction.execute(() -> eventRepository
+                .findUpdatedOnByIdAndState(eventId, EventState.PUBLISHED)
+                .map(updatedOn -> stamp(List.of(Resource.CATEGORIES), updatedOn)));
+    }
+
+    private Stamp stamp(List<Resource> resources, LocalDateTime... updatedOn) {
+        Map<Resource, ContentVersion> versions = contentVersionRepository.findAllById(resources).stream()
+                .collect(Collectors.toMap(ContentVersion::getResource, Function.identity()));
+        StringJoiner etag = new StringJoiner("-", "\"", "\"");
+        LocalDateTime lastModified = LocalDateTime.MIN;
+        for (Resource resource : resources) {
+            ContentVersion version = versions.get(resource);
+            etag.add(Long.toString(version.getVersion(), 36));
+            lastModified = latest(lastModified, version.getUpdatedOn());
+        }
+        for (LocalDateTime time : updatedOn) {
+            etag.add(time == null ? "0" : Long.toString(toEpochMicros(time), 36));
+            lastModified = latest(lastModified, time);
+        }
+        return new Stamp(etag.toString(), lastModified.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+    }
+
+    private static LocalDateTime latest(LocalDateTime current, LocalDateTime candidate) {
+        return candidate != null && candidate.isAfter(current) ? candidate : current;
+    }
+
+    private static long toEpochMicros(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC) * 1_000_000 + time.getNano() / 1_000;
+    }
+
+    public record Stamp(String etag, long lastModified) {
+    }
+}
@@ -0,0 +1,26 @@
+package ru.practicum.ewm.common;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.function.Supplier;
+
+/**
+ * Короткая транзакция только на чтение. Нужна там, где после загрузки данных идут обращения
+ * к внешним сервисам: соединение с БД возвращается в пул до сетевых вызовов.
+ */
+@Component
+public class ReadOnlyTransaction {
+
+    private final TransactionTemplate transactionTemplate;
+
+    public ReadOnlyTransaction(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    public <T> T execute(Supplier<T> action) {
+        return transactionTemplate.execute(status -> action.get());
+    }
+}
@@ -1,12 +1,22 @@
 package ru.practicum.ewm.compilation;
 
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import ru.practicum.ewm.compilation.model.Compilation;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 public interface CompilationRepository extends JpaRepository<Compilation,Long> {
 
     List<Compilation> findAllByPinned(Boolean pinned, Pageable pageable);
+
+    @EntityGraph(attributePaths = {"events", "events.category", "events.initiator"})
+    Optional<Compilation> findWithEventsById(Long id);
+
+    @Query("SELECT MAX(e.updatedOn) FROM Compilation c JOIN c.events e")
+    LocalDateTime findLastEventUpdatedOn();
 }
@@ -5,6 +5,8 @@ import jakarta.validation.constraints.PositiveOrZero;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import ru.practicum.ewm.common.ContentVersions;
 import ru.practicum.ewm.compilation.dto.CompilationDto;
 import ru.practicum.ewm.compilation.service.CompilationService;
 
@@ -16,23 +18,36 @@ import java.util.List;
 @RequiredArgsConstructor
 public class CompilationPublicController {
     private final CompilationService compilationService;
+    private final ContentVersions contentVersions;
 
     @GetMapping
     public List<CompilationDto> getAllCompilations(
             @RequestParam(required = false) Boolean pinned,
             @RequestParam(defaultValue = "0")@PositiveOrZero Integer from,
-            @RequestParam(defaultValue = "10")@Positive Integer size) {
+            @RequestParam(defaultValue = "10")@Positive Integer size,
+            WebRequest request) {
         log.info("GET запрос на получение подборок событий. pinned={}, from={}, size={}", pinned, from, size);
+        if (isNotModified(request)) {
+            return null;
+        }
         List<CompilationDto> compilations = compilationService.getAllCompilations(from, size, pinned);
         log.info("Возвращен список подборок событий: {}", compilations);
         return compilations;
     }
 
     @GetMapping("/{compId}")
-    public CompilationDto findCompilationById(@PathVariable Long compId) {
+    public CompilationDto findCompilationById(@PathVariable Long compId, WebRequest request) {
         log.info("GET запрос на получение подборки событий по id = {}", compId);
+        if (isNotModified(request)) {
+            return null;
+        }
         CompilationDto compilationDto = compilationService.findCompilationById(compId);
         log.info("Возвращена подборка событий по id = {}: {}", compId, compilationDto);
         return compilationDto;
     }
+
+    private boolean isNotModified(WebRequest request) {
+        ContentVersions.Stamp stamp = contentVersions.compilations();
+        return request.checkNotModified(stamp.etag(), stamp.lastModified());
+    }
 }
\ No newline at end of file
@@ -7,6 +7,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.ewm.common.ContentVersions;
 import ru.practicum.ewm.compilation.CompilationRepository;
 import ru.practicum.ewm.compilation.dto.CompilationDto;
 import ru.practicum.ewm.compilation.dto.NewCompilationDto;
@@ -22,6 +23,8 @@ import ru.practicum.ewm.exception.NotFoundException;
 import java.util.*;
 import java.util.stream.Collectors;
 
+import static ru.practicum.ewm.common.ContentVersions.Resource.COMPILATIONS;
+
 @Service
 @RequiredArgsConstructor
 @Slf4j
@@ -30,6 +33,7 @@ public class CompilationServiceImpl implements CompilationService {
 
     CompilationRepository compilationRepository;
     EventRepository eventRepository;
+    ContentVersions contentVersions;
 
     @Override
     @Transactional
@@ -41,6 +45,7 @@ public class CompilationServiceImpl implements CompilationService {
         Compilation compilation = CompilationMapper.toCompilationFromNew(newCompilationDto, new HashSet<>(events));
         compilation.setPinned(Optional.ofNullable(compilation.getPinned()).orElse(false));
         Compilation savedCompilation = compilationRepository.save(compilation);
+        contentVersions.changed(COMPILATIONS);
         log.info("Подборка сохранена: {}", savedCompilation);
 
         List<EventShortDto> eventShortDtos = events.stream()
@@ -67,6 +72,7 @@ public class CompilationServiceImpl implements CompilationService {
 
         compilation.setTitle(Optional.ofNullable(updateCompilationRequest.getTitle()).orElse(compilation.getTitle()));
         Compilation updatedCompilation = compilationRepository.save(compilation);
+        contentVersions.changed(COMPILATIONS);
         log.info("Подборка обновлена: {}", compilation);
         List<EventShortDto> eventShortDtos = updatedCompilation.getEvents().stream()
                 .map(EventMapper::toEventShortDto)
@@ -79,6 +85,7 @@ public class CompilationServiceImpl implements CompilationService {
     @Transactional
     public void delete(Long id) {
         compilationRepository.deleteById(id);
+        contentVersions.changed(COMPILATIONS);
         log.info("Подборка удалена");
     }
 
@@ -113,7 +120,7 @@ public class CompilationServiceImpl implements CompilationService {
     @Override
     public CompilationDto findCompilationById(Long compId) {
         log.info("Получение подборки с compId={}", compId);
-        Compilation compilation = compilationRepository.findById(compId)
+        Compilation compilation = compilationRepository.findWithEventsById(compId)
                 .orElseThrow(() -> new NotFoundException("Подборка c ID " + compId + " не найдена"));
 
         log.info("Подборка найдена: {}", compilation);
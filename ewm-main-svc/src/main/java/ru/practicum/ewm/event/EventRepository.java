@@ -1,18 +1,33 @@
 package ru.practicum.ewm.event;
 
-import org.springframework.data.domain.Page;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import ru.practicum.ewm.event.dto.EventAdmission;
+import ru.practicum.ewm.event.dto.EventCounters;
+import ru.practicum.ewm.event.dto.EventShortView;
 import ru.practicum.ewm.event.model.Event;
 import ru.practicum.ewm.enums.EventState;
+import ru.practicum.ewm.enums.RequestStatus;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
-public interface EventRepository extends JpaRepository<Event, Long> {
+public interface EventRepository extends JpaRepository<Event, Long>, JpaSpecificationExecutor<Event>, EventRepositoryCustom {
+    @EntityGraph(attributePaths = {"category", "initiator", "location"})
     @Query("""
                 SELECT e
                 FROM Event AS e
@@ -31,15 +46,133 @@ public interface EventRepository extends JpaRepository<Event, Long> {
             Pageable pageable
     );
 
-    List<Event> findAllByInitiatorId(Long initiatorId, Pageable pageable);
+    @EntityGraph(attributePaths = {"category", "initiator", "location"})
+    @QueryHints({
+            @QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = AvailableHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("""
+                SELECT e
+                FROM Event AS e
+                WHERE (?1 IS NULL or e.initiator.id IN ?1)
+                    AND (?2 IS NULL or e.state IN ?2)
+                    AND (?3 IS NULL or e.category.id in ?3)
+                    AND (CAST(?4 AS timestamp) IS NULL or e.eventDate >= ?4)
+                    AND (CAST(?5 AS timestamp) IS NULL or e.eventDate < ?5)
+                ORDER BY e.id
+            """)
+    Stream<Event> streamAllByAdmin(
+            List<Long> users,
+            List<EventState> states,
+            List<Long> categories,
+            LocalDateTime rangeStart,
+            LocalDateTime rangeEnd
+    );
+
+    @Query("""
+                SELECT new ru.practicum.ewm.event.dto.EventShortView(e.id, e.annotation, c.id, c.name, e.eventDate,
+                    i.id, i.name, e.paid, e.title, e.createdOn, e.confirmedRequests, e.views)
+                FROM Event AS e
+                JOIN e.category AS c
+                JOIN e.initiator AS i
+                WHERE i.id = :initiatorId
+            """)
+    List<EventShortView> findShortViewsByInitiatorId(@Param("initiatorId") Long initiatorId, Pageable pageable);
 
+    @EntityGraph(attributePaths = {"category", "initiator", "location"})
     List<Event> findAllByIdIn(List<Long> eventIds);
 
+    @Query("""
+                SELECT new ru.practicum.ewm.event.dto.EventShortView(e.id, e.annotation, c.id, c.name, e.eventDate,
+                    i.id, i.name, e.paid, e.title, e.createdOn, e.confirmedRequests, e.views)
+                FROM Event AS e
+                JOIN e.category AS c
+                JOIN e.initiator AS i
+                WHERE e.id IN :eventIds
+                  AND e.state = ru.practicum.ewm.enums.EventState.PUBLISHED
+            """)
+    List<EventShortView> findPublishedShortViewsByIdIn(@Param("eventIds") List<Long> eventIds);
+
     boolean existsByCategoryId(Long id);
 
-    Optional<Event> findByIdAndInitiatorId(Long eventId, Long userId);
+    Optional<EventCounters> findCountersById(Long id);
+
+    @Query("""
+                SELECT e.initiator.id AS initiatorId, e.state AS state, e.participantLimit AS participantLimit,
+                       e.requestModeration AS requestModeration, e.confirmedRequests AS confirmedRequests
+                FROM Event e
+                WHERE e.id = :eventId
+            """)
+    Optional<EventAdmission> findAdmissionById(@Param("eventId") Long eventId);
+
+    boolean existsByIdAndInitiatorId(Long eventId, Long userId);
+
+    @Query("""
+                SELECT new ru.practicum.ewm.event.dto.EventShortView(e.id, e.annotation, c.id, c.name, e.eventDate,
+                    i.id, i.name, e.paid, e.title, e.createdOn, e.confirmedRequests, e.views)
+                FROM Event AS e
+                JOIN e.category AS c
+                JOIN e.initiator AS i
+                WHERE i.id IN :initiatorIds
+            """)
+    List<EventShortView> findShortViewsByInitiatorIdIn(@Param("initiatorIds") List<Long> initiatorIds, Pageable pageable);
+
+    @EntityGraph(attributePaths = {"category", "location"})
+    List<Event> findAllByStateAndIdGreaterThanOrderById(EventState state, Long afterId, Limit limit);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT e.id, e.state, e.eventDate FROM Event e WHERE e.id IN :eventIds ORDER BY e.id")
+    List<Object[]> findStatesForUpdate(@Param("eventIds") Collection<Long> eventIds);
+
+    @Modifying
+    @Query("UPDATE Event e SET e.state = ru.practicum.ewm.enums.EventState.PUBLISHED, e.publishedOn = :publishedOn, e.updatedOn = LOCAL DATETIME WHERE e.id IN :eventIds")
+    int publishAll(@Param("eventIds") Collection<Long> eventIds, @Param("publishedOn") LocalDateTime publishedOn);
+
+    @Modifying
+    @Query("UPDATE Event e SET e.state = ru.practicum.ewm.enums.EventState.CANCELED, e.updatedOn = LOCAL DATETIME WHERE e.id IN :eventIds")
+    int cancelAll(@Param("eventIds") Collection<Long> eventIds);
+
+    @Modifying
+    @Query("UPDATE Event e SET e.confirmedRequests = e.confirmedRequests + :delta, e.updatedOn = LOCAL DATETIME WHERE e.id = :eventId")
+    int addConfirmedRequests(@Param("eventId") Long eventId, @Param("delta") long delta);
+
+    // Место занимается только если лимит не будет превышен, проверка и увеличение выполняются одним UPDATE
+    @Modifying
+    @Query("""
+                UPDATE Event e
+                SET e.confirmedRequests = e.confirmedRequests + :count, e.updatedOn = LOCAL DATETIME
+                WHERE e.id = :eventId
+                  AND (e.participantLimit = 0 OR e.confirmedRequests + :count <= e.participantLimit)
+            """)
+    int admitConfirmedRequests(@Param("eventId") Long eventId, @Param("count") long count);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT e FROM Event e WHERE e.id = :eventId")
+    Optional<Event> findByIdForUpdate(@Param("eventId") Long eventId);
+
+    @Modifying
+    @Query("""
+                UPDATE Event e
+                SET e.confirmedRequests = (SELECT COUNT(r) FROM EventRequest r WHERE r.event.id = e.id AND r.status = :status),
+                    e.updatedOn = LOCAL DATETIME
+                WHERE e.confirmedRequests <> (SELECT COUNT(r) FROM EventRequest r WHERE r.event.id = e.id AND r.status = :status)
+            """)
+    int reconcileConfirmedRequests(@Param("status") RequestStatus status);
+
+    @Query("""
+                SELECT e.id, e.createdOn
+                FROM Event AS e
+                WHERE e.state = :state AND e.id > :afterId
+                ORDER BY e.id
+            """)
+    List<Object[]> findIdsForViewsSync(@Param("state") EventState state, @Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("SELECT MAX(e.updatedOn) FROM Event e")
+    LocalDateTime findLastUpdatedOn();
 
-    Page<Event> findAll(Specification<Event> spec, Pageable pageable);
+    @Query("SELECT MAX(e.eventDate) FROM Event e WHERE e.state = :state AND e.eventDate <= :now")
+    LocalDateTime findLastStartedEventDate(@Param("state") EventState state, @Param("now") LocalDateTime now);
 
-    List<Event> findByInitiatorIdIn(List<Long> initiatorIds, Pageable pageable);
-}
\ No newline at end of file
+    @Query("SELECT e.updatedOn FROM Event e WHERE e.id = :eventId AND e.state = :state")
+    Optional<LocalDateTime> findUpdatedOnByIdAndState(@Param("eventId") Long eventId, @Param("state") EventState state);
+}
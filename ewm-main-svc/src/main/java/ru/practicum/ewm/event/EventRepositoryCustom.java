@@ -0,0 +1,24 @@
+package ru.practicum.ewm.event;
+
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import ru.practicum.ewm.event.dto.EventFullView;
+import ru.practicum.ewm.event.dto.EventShortView;
+import ru.practicum.ewm.event.model.Event;
+
+import java.util.List;
+import java.util.Map;
+
+public interface EventRepositoryCustom {
+
+    List<EventShortView> findShortViews(Specification<Event> spec, Pageable pageable);
+
+    // Следующие limit строк по ключу (property, id) после позиции курсора: WHERE (property, id) > (:value, :id)
+    List<EventShortView> scrollShortViews(Specification<Event> spec, String property, KeysetScrollPosition position, int limit);
+
+    List<EventFullView> scrollFullViews(Specification<Event> spec, String property, KeysetScrollPosition position, int limit);
+
+    // Один UPDATE с CASE по id на всю пачку, значение только растёт. Выполняется в транзакции вызывающего
+    int updateViews(Map<Long, Long> views);
+}
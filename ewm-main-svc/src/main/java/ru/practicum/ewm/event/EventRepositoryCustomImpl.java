@@ -0,0 +1,169 @@
+package ru.practicum.ewm.event;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.CriteriaUpdate;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import ru.practicum.ewm.category.model.Category;
+import ru.practicum.ewm.event.dto.EventFullView;
+import ru.practicum.ewm.event.dto.EventShortView;
+import ru.practicum.ewm.event.model.Event;
+import ru.practicum.ewm.location.model.Location;
+import ru.practicum.ewm.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiFunction;
+
+public class EventRepositoryCustomImpl implements EventRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<EventShortView> findShortViews(Specification<Event> spec, Pageable pageable) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<EventShortView> query = criteriaBuilder.createQuery(EventShortView.class);
+        Root<Event> root = query.from(Event.class);
+        query.select(shortView(root, criteriaBuilder));
+
+        Predicate predicate = spec.toPredicate(root, query, criteriaBuilder);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        if (pageable.getSort().isSorted()) {
+            query.orderBy(QueryUtils.toOrders(pageable.getSort(), root, criteriaBuilder));
+        }
+
+        TypedQuery<EventShortView> typedQuery = entityManager.createQuery(query);
+        if (pageable.isPaged()) {
+            typedQuery.setFirstResult((int) pageable.getOffset());
+            typedQuery.setMaxResults(pageable.getPageSize());
+        }
+        return typedQuery.getResultList();
+    }
+
+    @Override
+    public List<EventShortView> scrollShortViews(Specification<Event> spec, String property,
+                                                 KeysetScrollPosition position, int limit) {
+        return scroll(EventShortView.class, this::shortView, spec, property, position, limit);
+    }
+
+    @Override
+    public List<EventFullView> scrollFullViews(Specification<Event> spec, String property,
+                                               KeysetScrollPosition position, int limit) {
+        return scroll(EventFullView.class, this::fullView, spec, property, position, limit);
+    }
+
+    @Override
+    public int updateViews(Map<Long, Long> views) {
+        if (views.isEmpty()) {
+            return 0;
+        }
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaUpdate<Event> update = criteriaBuilder.createCriteriaUpdate(Event.class);
+        Root<Event> root = update.from(Event.class);
+        CriteriaBuilder.SimpleCase<Long, Long> newViews = criteriaBuilder.selectCase(root.get("id"));
+        views.forEach(newViews::when);
+        newViews.otherwise(root.get("views"));
+
+        update.set(root.<Long>get("views"), newViews)
+                .set(root.<LocalDateTime>get("updatedOn"), criteriaBuilder.localDateTime())
+                .where(root.get("id").in(views.keySet()),
+                        criteriaBuilder.lessThan(root.get("views"), newViews));
+        return entityManager.createQuery(update).executeUpdate();
+    }
+
+    private <T> List<T> scroll(Class<T> type, BiFunction<Root<Event>, CriteriaBuilder, Selection<T>> selection,
+                               Specification<Event> spec, String property, KeysetScrollPosition position, int limit) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<T> query = criteriaBuilder.createQuery(type);
+        Root<Event> root = query.from(Event.class);
+        query.select(selection.apply(root, criteriaBuilder));
+
+        List<Predicate> predicates = new ArrayList<>();
+        Predicate predicate = spec.toPredicate(root, query, criteriaBuilder);
+        if (predicate != null) {
+            predicates.add(predicate);
+        }
+        if (!position.isInitial()) {
+            predicates.add(after(criteriaBuilder, root.get(property), root.get("id"),
+                    position.getKeys().get(property), position.getKeys().get("id")));
+        }
+        query.where(predicates.toArray(new Predicate[0]));
+        query.orderBy(criteriaBuilder.asc(root.get(property)), criteriaBuilder.asc(root.get("id")));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    // Сравнение пары (value, id) раскрыто через OR: JPQL не поддерживает сравнение строк значений
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Predicate after(CriteriaBuilder criteriaBuilder, Expression key, Expression<Long> id,
+                                   Object keyValue, Object idValue) {
+        return criteriaBuilder.or(
+                criteriaBuilder.greaterThan(key, (Comparable) keyValue),
+                criteriaBuilder.and(
+                        criteriaBuilder.equal(key, keyValue),
+                        criteriaBuilder.greaterThan(id, (Long) idValue)));
+    }
+
+    private Selection<EventShortView> shortView(Root<Event> root, CriteriaBuilder criteriaBuilder) {
+        Join<Event, Category> category = root.join("category");
+        Join<Event, User> initiator = root.join("initiator");
+        return criteriaBuilder.construct(EventShortView.class,
+                root.get("id"),
+                root.get("annotation"),
+                category.get("id"),
+                category.get("name"),
+                root.get("eventDate"),
+                initiator.get("id"),
+                initiator.get("name"),
+                root.get("paid"),
+                root.get("title"),
+                root.get("createdOn"),
+                root.get("confirmedRequests"),
+                root.get("views"));
+    }
+
+    private Selection<EventFullView> fullView(Root<Event> root, CriteriaBuilder criteriaBuilder) {
+        Join<Event, Category> category = root.join("category");
+        Join<Event, User> initiator = root.join("initiator");
+        Join<Event, Location> location = root.join("location", JoinType.LEFT);
+        return criteriaBuilder.construct(EventFullView.class,
+                root.get("id"),
+                root.get("title"),
+                root.get("annotation"),
+                root.get("description"),
+                root.get("eventDate"),
+                location.get("lat"),
+                location.get("lon"),
+                root.get("paid"),
+                root.get("participantLimit"),
+                root.get("requestModeration"),
+                root.get("state"),
+                root.get("createdOn"),
+                root.get("publishedOn"),
+                initiator.get("id"),
+                initiator.get("name"),
+                category.get("id"),
+                category.get("name"),
+                root.get("confirmedRequests"),
+                root.get("views"));
+    }
+}
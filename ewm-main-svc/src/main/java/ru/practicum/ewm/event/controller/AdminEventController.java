@@ -1,16 +1,26 @@
 package ru.practicum.ewm.event.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import ru.practicum.ewm.event.dto.BulkEventStateUpdateRequest;
 import ru.practicum.ewm.event.dto.EventFullDto;
+import ru.practicum.ewm.event.dto.EventScrollDto;
 import ru.practicum.ewm.event.dto.EventSearchParams;
+import ru.practicum.ewm.event.dto.EventStateUpdateResult;
 import ru.practicum.ewm.event.dto.UpdateEventAdminRequest;
 import ru.practicum.ewm.event.service.EventService;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.Collection;
+import java.util.List;
 
 @Slf4j
 @RestController
@@ -18,6 +28,7 @@ import java.util.Collection;
 @RequiredArgsConstructor
 public class AdminEventController {
     private final EventService eventService;
+    private final ObjectMapper objectMapper;
 
     @GetMapping
     public Collection<EventFullDto> findAllByAdmin(@Valid EventSearchParams searchEventParams,
@@ -28,6 +39,42 @@ public class AdminEventController {
         return events;
     }
 
+    @GetMapping("/scroll")
+    public EventScrollDto<EventFullDto> scrollByAdmin(@Valid EventSearchParams searchEventParams,
+                                                      @RequestParam(required = false) String cursor) {
+        log.info("GET запрос /admin/events/scroll с курсором {}", cursor);
+        EventScrollDto<EventFullDto> events = eventService.scrollByAdmin(searchEventParams, cursor);
+        log.info("Отправлен ответ GET /admin/events/scroll с телом: {}", events);
+        return events;
+    }
+
+    @GetMapping(value = "/export", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> export(@Valid EventSearchParams searchEventParams) {
+        log.info("GET запрос /admin/events/export с фильтром {}", searchEventParams);
+        StreamingResponseBody body = out -> eventService.exportByAdmin(searchEventParams, chunk -> {
+            try {
+                for (EventFullDto event : chunk) {
+                    out.write(objectMapper.writeValueAsBytes(event));
+                    out.write('\n');
+                }
+                out.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/x-ndjson"))
+                .body(body);
+    }
+
+    @PatchMapping("/bulk")
+    public List<EventStateUpdateResult> updateStates(@RequestBody @Valid BulkEventStateUpdateRequest request) {
+        log.info("PATCH запрос /admin/events/bulk: {} для {} событий", request.getStateAction(), request.getEventIds().size());
+        List<EventStateUpdateResult> results = eventService.updateStatesByAdmin(request);
+        log.info("Отправлен ответ PATCH /admin/events/bulk для {} событий", results.size());
+        return results;
+    }
+
     @PatchMapping("/{eventId}")
     public EventFullDto update(@PathVariable Long eventId, @RequestBody @Valid UpdateEventAdminRequest eventDto) {
         log.info("PATCH запрос /admin/events/{} с телом {}", eventId, eventDto);
@@ -7,13 +7,17 @@ import jakarta.validation.constraints.PositiveOrZero;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.ewm.event.dto.EventFullDto;
+import ru.practicum.ewm.event.dto.EventImportResult;
 import ru.practicum.ewm.event.dto.EventShortDto;
 import ru.practicum.ewm.event.dto.NewEventDto;
 import ru.practicum.ewm.event.dto.UpdateEventUserRequest;
+import ru.practicum.ewm.event.service.EventImportService;
 import ru.practicum.ewm.event.service.EventService;
 
+import java.io.InputStream;
 import java.util.Collection;
 
 @Slf4j
@@ -23,6 +27,7 @@ import java.util.Collection;
 public class PrivateEventController {
 
     private final EventService eventService;
+    private final EventImportService eventImportService;
 
     @ResponseStatus(HttpStatus.CREATED)
     @PostMapping
@@ -33,6 +38,15 @@ public class PrivateEventController {
         return event;
     }
 
+    @PostMapping(path = "/import", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public EventImportResult importEvents(@PathVariable Long userId, InputStream body) {
+        log.info("POST запрос /users/{}/events/import", userId);
+        EventImportResult result = eventImportService.importEvents(userId, body);
+        log.info("Отправлен ответ POST /users/{}/events/import: сохранено {}, отклонено {}",
+                userId, result.getImported(), result.getRejected());
+        return result;
+    }
+
     @PatchMapping("/{eventId}")
     public EventFullDto update(@PathVariable Long userId, @PathVariable Long eventId, @RequestBody @Valid UpdateEventUserRequest eventDto) {
         log.info("PATCH запрос /users/{}/events/{} с телом {}", userId, eventId, eventDto);
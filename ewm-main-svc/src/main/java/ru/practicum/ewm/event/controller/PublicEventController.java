@@ -5,7 +5,10 @@ import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import ru.practicum.ewm.common.ContentVersions;
 import ru.practicum.ewm.event.dto.EventFullDto;
+import ru.practicum.ewm.event.dto.EventScrollDto;
 import ru.practicum.ewm.event.dto.EventSearchParams;
 import ru.practicum.ewm.event.dto.EventShortDto;
 import ru.practicum.ewm.event.service.EventService;
@@ -19,21 +22,51 @@ import java.util.Collection;
 public class PublicEventController {
 
     private final EventService eventService;
+    private final ContentVersions contentVersions;
 
     @GetMapping
     public Collection<EventShortDto> findAllByPublic(@Valid EventSearchParams searchEventParams,
-                                                     HttpServletRequest request) {
+                                                     HttpServletRequest request, WebRequest webRequest) {
         log.info("GET запрос на получения событий с фильтром");
+        if (isNotModified(webRequest, contentVersions.events(), request)) {
+            return null;
+        }
         Collection<EventShortDto> events = eventService.findAllByPublic(searchEventParams, request);
         log.info("Отправлен ответ GET /events с телом: {}", events);
         return events;
     }
 
+    @GetMapping("/scroll")
+    public EventScrollDto<EventShortDto> scrollByPublic(@Valid EventSearchParams searchEventParams,
+                                                        @RequestParam(required = false) String cursor,
+                                                        HttpServletRequest request, WebRequest webRequest) {
+        log.info("GET запрос /events/scroll с курсором {}", cursor);
+        if (isNotModified(webRequest, contentVersions.events(), request)) {
+            return null;
+        }
+        EventScrollDto<EventShortDto> events = eventService.scrollByPublic(searchEventParams, cursor, request);
+        log.info("Отправлен ответ GET /events/scroll с телом: {}", events);
+        return events;
+    }
+
     @GetMapping("/{eventId}")
-    public EventFullDto findEventById(@PathVariable Long eventId, HttpServletRequest request) {
+    public EventFullDto findEventById(@PathVariable Long eventId, HttpServletRequest request, WebRequest webRequest) {
         log.info("GET запрос /events/{}", eventId);
+        if (isNotModified(webRequest, contentVersions.event(eventId).orElse(null), request)) {
+            return null;
+        }
         EventFullDto event = eventService.findEventById(eventId, request);
         log.info("Отправлен ответ GET /events/{} с телом: {}", eventId, event);
         return event;
     }
-}
\ No newline at end of file
+
+    // Просмотр учитывается в статистике и при ответе 304. Просмотры из статистики попадают в отметку
+    // при синхронизации, поэтому в закэшированном клиентом ответе они могут отставать на ewm.views.sync-interval-ms
+    private boolean isNotModified(WebRequest webRequest, ContentVersions.Stamp stamp, HttpServletRequest request) {
+        if (stamp == null || !webRequest.checkNotModified(stamp.etag(), stamp.lastModified())) {
+            return false;
+        }
+        eventService.sendStats(request);
+        return true;
+    }
+}
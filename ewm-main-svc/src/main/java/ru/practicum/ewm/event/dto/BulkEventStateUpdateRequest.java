@@ -0,0 +1,24 @@
+package ru.practicum.ewm.event.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+import ru.practicum.ewm.enums.StateAction;
+
+import java.util.List;
+
+@Data
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkEventStateUpdateRequest {
+    @NotEmpty
+    @Size(max = 10000)
+    List<@NotNull Long> eventIds;
+
+    @NotNull
+    StateAction stateAction;
+}
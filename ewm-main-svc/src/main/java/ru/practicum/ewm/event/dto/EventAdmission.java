@@ -0,0 +1,16 @@
+package ru.practicum.ewm.event.dto;
+
+import ru.practicum.ewm.enums.EventState;
+
+public interface EventAdmission {
+
+    Long getInitiatorId();
+
+    EventState getState();
+
+    Integer getParticipantLimit();
+
+    Boolean getRequestModeration();
+
+    Long getConfirmedRequests();
+}
@@ -0,0 +1,8 @@
+package ru.practicum.ewm.event.dto;
+
+public interface EventCounters {
+
+    Long getConfirmedRequests();
+
+    Long getViews();
+}
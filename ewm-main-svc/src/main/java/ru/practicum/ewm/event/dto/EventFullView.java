@@ -0,0 +1,30 @@
+package ru.practicum.ewm.event.dto;
+
+import ru.practicum.ewm.enums.EventState;
+
+import java.time.LocalDateTime;
+
+/**
+ * Строка полной карточки события, собранная запросом без загрузки сущностей.
+ */
+public record EventFullView(
+        Long id,
+        String title,
+        String annotation,
+        String description,
+        LocalDateTime eventDate,
+        Float locationLat,
+        Float locationLon,
+        Boolean paid,
+        Integer participantLimit,
+        Boolean requestModeration,
+        EventState state,
+        LocalDateTime createdOn,
+        LocalDateTime publishedOn,
+        Long initiatorId,
+        String initiatorName,
+        Long categoryId,
+        String categoryName,
+        Long confirmedRequests,
+        Long views) {
+}
@@ -0,0 +1,14 @@
+package ru.practicum.ewm.event.dto;
+
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+@Data
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EventImportError {
+    long index;
+    String message;
+}
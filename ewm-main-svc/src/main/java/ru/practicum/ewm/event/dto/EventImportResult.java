@@ -0,0 +1,17 @@
+package ru.practicum.ewm.event.dto;
+
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+import java.util.List;
+
+@Data
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EventImportResult {
+    long imported;
+    long rejected;
+    List<EventImportError> errors;
+}
@@ -0,0 +1,16 @@
+package ru.practicum.ewm.event.dto;
+
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+import java.util.List;
+
+@Data
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EventScrollDto<T> {
+    List<T> events;
+    String nextCursor;
+}
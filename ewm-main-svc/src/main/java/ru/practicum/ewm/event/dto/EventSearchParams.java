@@ -1,5 +1,7 @@
 package ru.practicum.ewm.event.dto;
 
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.Positive;
 import jakarta.validation.constraints.PositiveOrZero;
 import lombok.*;
@@ -24,6 +26,14 @@ public class EventSearchParams {
     @DateTimeFormat(pattern = "yyyy-MM-dd HH:mm:ss")
     LocalDateTime rangeEnd;
     Boolean onlyAvailable;
+    @DecimalMin("-90")
+    @DecimalMax("90")
+    Double lat;
+    @DecimalMin("-180")
+    @DecimalMax("180")
+    Double lon;
+    @Positive
+    Double radiusKm;
     String sort;
     @PositiveOrZero
     int from = 0;
@@ -0,0 +1,21 @@
+package ru.practicum.ewm.event.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Строка списка событий без описания и прочих полей полной карточки.
+ */
+public record EventShortView(
+        Long id,
+        String annotation,
+        Long categoryId,
+        String categoryName,
+        LocalDateTime eventDate,
+        Long initiatorId,
+        String initiatorName,
+        Boolean paid,
+        String title,
+        LocalDateTime createdOn,
+        Long confirmedRequests,
+        Long views) {
+}
@@ -0,0 +1,23 @@
+package ru.practicum.ewm.event.dto;
+
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+import ru.practicum.ewm.enums.EventState;
+
+@Data
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EventStateUpdateResult {
+    Long eventId;
+    Status status;
+    EventState state;
+    String message;
+
+    public enum Status {
+        UPDATED,
+        NOT_FOUND,
+        CONFLICT
+    }
+}
@@ -1,16 +1,25 @@
 package ru.practicum.ewm.event.mapper;
 
+import ru.practicum.ewm.category.dto.CategoryDto;
 import ru.practicum.ewm.enums.EventState;
 import ru.practicum.ewm.event.dto.EventFullDto;
+import ru.practicum.ewm.event.dto.EventFullView;
 import ru.practicum.ewm.event.dto.EventShortDto;
+import ru.practicum.ewm.event.dto.EventShortView;
 import ru.practicum.ewm.event.dto.NewEventDto;
 import ru.practicum.ewm.event.model.Event;
+import ru.practicum.ewm.location.dto.LocationDto;
 import ru.practicum.ewm.location.mapper.LocationMapper;
 import ru.practicum.ewm.category.mapper.CategoryMapper;
+import ru.practicum.ewm.user.dto.UserShortDto;
 import ru.practicum.ewm.user.mapper.UserMapper;
 
 public class EventMapper {
 
+    public static String toStatsUri(Long eventId) {
+        return "/events/" + eventId;
+    }
+
     public static Event toEvent(NewEventDto newEventDto) {
         return Event.builder()
                 .annotation(newEventDto.getAnnotation())
@@ -41,6 +50,29 @@ public class EventMapper {
                 .requestModeration(event.getRequestModeration())
                 .state(event.getState())
                 .title(event.getTitle())
+                .confirmedRequests(event.getConfirmedRequests())
+                .views(event.getViews())
+                .build();
+    }
+
+    public static EventFullDto toEventFullDto(EventFullView view) {
+        return EventFullDto.builder()
+                .id(view.id())
+                .annotation(view.annotation())
+                .category(new CategoryDto(view.categoryId(), view.categoryName()))
+                .createdOn(view.createdOn())
+                .description(view.description())
+                .eventDate(view.eventDate())
+                .initiator(new UserShortDto(view.initiatorId(), view.initiatorName()))
+                .location(view.locationLat() == null ? null : new LocationDto(view.locationLat(), view.locationLon()))
+                .paid(view.paid())
+                .participantLimit(view.participantLimit())
+                .publishedOn(view.publishedOn())
+                .requestModeration(view.requestModeration())
+                .state(view.state())
+                .title(view.title())
+                .confirmedRequests(view.confirmedRequests())
+                .views(view.views())
                 .build();
     }
 
@@ -53,6 +85,22 @@ public class EventMapper {
                 .initiator(UserMapper.toUserShortDto(event.getInitiator()))
                 .paid(event.getPaid())
                 .title(event.getTitle())
+                .confirmedRequests(event.getConfirmedRequests())
+                .views(event.getViews())
+                .build();
+    }
+
+    public static EventShortDto toEventShortDto(EventShortView view) {
+        return EventShortDto.builder()
+                .id(view.id())
+                .annotation(view.annotation())
+                .category(new CategoryDto(view.categoryId(), view.categoryName()))
+                .eventDate(view.eventDate())
+                .initiator(new UserShortDto(view.initiatorId(), view.initiatorName()))
+                .paid(view.paid())
+                .title(view.title())
+                .confirmedRequests(view.confirmedRequests())
+                .views(view.views())
                 .build();
     }
 }
\ No newline at end of file
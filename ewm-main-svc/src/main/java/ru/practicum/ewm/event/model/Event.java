@@ -3,6 +3,8 @@ package ru.practicum.ewm.event.model;
 import jakarta.persistence.*;
 import lombok.*;
 import lombok.experimental.FieldDefaults;
+import org.hibernate.annotations.SourceType;
+import org.hibernate.annotations.UpdateTimestamp;
 import ru.practicum.ewm.category.model.Category;
 import ru.practicum.ewm.location.model.Location;
 import ru.practicum.ewm.user.model.User;
@@ -19,7 +21,8 @@ import java.time.LocalDateTime;
 @Table(name = "events")
 public class Event {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "events_seq")
+    @SequenceGenerator(name = "events_seq", sequenceName = "events_seq", allocationSize = 50)
     Long id;
 
     @OneToOne(cascade = CascadeType.ALL, fetch = FetchType.LAZY)
@@ -60,4 +63,17 @@ public class Event {
 
     @Column(name = "published_on")
     LocalDateTime publishedOn;
+
+    @Builder.Default
+    @Column(name = "confirmed_requests", nullable = false, updatable = false)
+    Long confirmedRequests = 0L;
+
+    @Builder.Default
+    @Column(nullable = false, updatable = false)
+    Long views = 0L;
+
+    // Время сервера БД, чтобы отметки разных экземпляров сервиса были сопоставимы
+    @UpdateTimestamp(source = SourceType.DB)
+    @Column(name = "updated_on", nullable = false)
+    LocalDateTime updatedOn;
 }
\ No newline at end of file
@@ -0,0 +1,4 @@
+package ru.practicum.ewm.event.search;
+
+public record EventChangedEvent(Long eventId) {
+}
@@ -0,0 +1,44 @@
+package ru.practicum.ewm.event.search;
+
+import org.hibernate.boot.model.FunctionContributions;
+import org.hibernate.boot.model.FunctionContributor;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.query.sqm.function.SqmFunctionRegistry;
+import org.hibernate.type.BasicType;
+import org.hibernate.type.BasicTypeRegistry;
+import org.hibernate.type.StandardBasicTypes;
+
+/**
+ * Функции полнотекстового поиска по событиям: fts_match(title, annotation, description, text)
+ * и fts_rank(title, annotation, description, text).
+ * На PostgreSQL выражение документа совпадает с выражением индекса idx_events_full_text из schema-postgres.sql,
+ * на остальных СУБД используется поиск подстроки.
+ */
+public class EventSearchFunctionContributor implements FunctionContributor {
+
+    public static final String MATCH = "fts_match";
+    public static final String RANK = "fts_rank";
+
+    private static final String DOCUMENT =
+            "to_tsvector('russian', coalesce(?1, '') || ' ' || coalesce(?2, '') || ' ' || coalesce(?3, ''))";
+    private static final String QUERY = "plainto_tsquery('russian', ?4)";
+
+    @Override
+    public void contributeFunctions(FunctionContributions functionContributions) {
+        SqmFunctionRegistry registry = functionContributions.getFunctionRegistry();
+        BasicTypeRegistry types = functionContributions.getTypeConfiguration().getBasicTypeRegistry();
+        BasicType<Boolean> booleanType = types.resolve(StandardBasicTypes.BOOLEAN);
+        BasicType<Double> doubleType = types.resolve(StandardBasicTypes.DOUBLE);
+
+        if (functionContributions.getDialect() instanceof PostgreSQLDialect) {
+            registry.registerPattern(MATCH, "(" + DOCUMENT + " @@ " + QUERY + ")", booleanType);
+            registry.registerPattern(RANK, "ts_rank(" + DOCUMENT + ", " + QUERY + ")", doubleType);
+        } else {
+            registry.registerPattern(MATCH, "(lower(coalesce(?1, '') || ' ' || coalesce(?2, '') || ' ' || coalesce(?3, ''))"
+                    + " like lower('%' || ?4 || '%'))", booleanType);
+            registry.registerPattern(RANK, "(case when lower(coalesce(?1, '')) like lower('%' || ?4 || '%') then 1.0"
+                    + " when lower(coalesce(?2, '')) like lower('%' || ?4 || '%') then 0.5"
+                    + " when lower(coalesce(?3, '')) like lower('%' || ?4 || '%') then 0.1 else 0.0 end)", doubleType);
+        }
+    }
+}
@@ -0,0 +1,249 @@
+package ru.practicum.ewm.event.search;
+
+import jakarta.annotation.PreDestroy;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.IntPoint;
+import org.apache.lucene.document.LatLonDocValuesField;
+import org.apache.lucene.document.LatLonPoint;
+import org.apache.lucene.document.LongPoint;
+import org.apache.lucene.document.NumericDocValuesField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.StoredFields;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.BoostQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.MatchAllDocsQuery;
+import org.apache.lucene.search.MatchNoDocsQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.Sort;
+import org.apache.lucene.search.SortField;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import ru.practicum.ewm.enums.EventState;
+import ru.practicum.ewm.event.dto.EventSearchParams;
+import ru.practicum.ewm.event.model.Event;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Индекс опубликованных событий в памяти процесса. Хранит только поля для фильтрации и сортировки,
+ * сами события загружаются из БД по найденным id.
+ */
+@Component
+@ConditionalOnProperty(name = "ewm.search.engine", havingValue = "lucene")
+public class EventSearchIndex {
+
+    private static final String ID = "id";
+    private static final String ID_SORT = "id_sort";
+    private static final String TITLE = "title";
+    private static final String ANNOTATION = "annotation";
+    private static final String DESCRIPTION = "description";
+    private static final String CATEGORY = "category";
+    private static final String PAID = "paid";
+    private static final String EVENT_DATE = "event_date";
+    private static final String LOCATION = "location";
+
+    private final Analyzer analyzer = new StandardAnalyzer();
+    private final IndexWriter writer;
+    private final SearcherManager searcherManager;
+
+    public EventSearchIndex() throws IOException {
+        this.writer = new IndexWriter(new ByteBuffersDirectory(), new IndexWriterConfig(analyzer));
+        this.searcherManager = new SearcherManager(writer, null);
+    }
+
+    // Доступность мест и просмотры меняются слишком часто для индекса, такие запросы обслуживает БД
+    public boolean supports(EventSearchParams params) {
+        return !Boolean.TRUE.equals(params.getOnlyAvailable()) && !"VIEWS".equalsIgnoreCase(params.getSort());
+    }
+
+    public void index(Event event) {
+        try {
+            Term id = new Term(ID, String.valueOf(event.getId()));
+            if (event.getState() == EventState.PUBLISHED) {
+                writer.updateDocument(id, toDocument(event));
+            } else {
+                writer.deleteDocuments(id);
+            }
+            searcherManager.maybeRefresh();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public void remove(Long eventId) {
+        try {
+            writer.deleteDocuments(new Term(ID, String.valueOf(eventId)));
+            searcherManager.maybeRefresh();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public void clear() {
+        try {
+            writer.deleteAll();
+            searcherManager.maybeRefresh();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public void addAll(Collection<Event> events) {
+        try {
+            for (Event event : events) {
+                if (event.getState() == EventState.PUBLISHED) {
+                    writer.updateDocument(new Term(ID, String.valueOf(event.getId())), toDocument(event));
+                }
+            }
+            searcherManager.maybeRefresh();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public List<Long> search(EventSearchParams params) {
+        int offset = params.getFrom() * params.getSize();
+        try {
+            IndexSearcher searcher = searcherManager.acquire();
+            try {
+                TopDocs topDocs = searcher.search(toQuery(params), offset + params.getSize(), toSort(params));
+                StoredFields storedFields = searcher.storedFields();
+                List<Long> ids = new ArrayList<>();
+                ScoreDoc[] scoreDocs = topDocs.scoreDocs;
+                for (int i = offset; i < scoreDocs.length; i++) {
+                    ids.add(Long.valueOf(storedFields.document(scoreDocs[i].doc).get(ID)));
+                }
+                return ids;
+            } finally {
+                searcherManager.release(searcher);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        searcherManager.close();
+        writer.close();
+    }
+
+    private Document toDocument(Event event) {
+        Document document = new Document();
+        document.add(new StringField(ID, String.valueOf(event.getId()), Field.Store.YES));
+        document.add(new NumericDocValuesField(ID_SORT, event.getId()));
+        document.add(new TextField(TITLE, nullToEmpty(event.getTitle()), Field.Store.NO));
+        document.add(new TextField(ANNOTATION, nullToEmpty(event.getAnnotation()), Field.Store.NO));
+        document.add(new TextField(DESCRIPTION, nullToEmpty(event.getDescription()), Field.Store.NO));
+        document.add(new LongPoint(CATEGORY, event.getCategory().getId()));
+        document.add(new IntPoint(PAID, Boolean.TRUE.equals(event.getPaid()) ? 1 : 0));
+        long eventDate = toMillis(event.getEventDate());
+        document.add(new LongPoint(EVENT_DATE, eventDate));
+        document.add(new NumericDocValuesField(EVENT_DATE, eventDate));
+        if (event.getLocation() != null) {
+            document.add(new LatLonPoint(LOCATION, event.getLocation().getLat(), event.getLocation().getLon()));
+            document.add(new LatLonDocValuesField(LOCATION, event.getLocation().getLat(), event.getLocation().getLon()));
+        }
+        return document;
+    }
+
+    private Query toQuery(EventSearchParams params) throws IOException {
+        BooleanQuery.Builder query = new BooleanQuery.Builder();
+        query.add(new MatchAllDocsQuery(), BooleanClause.Occur.FILTER);
+
+        if (params.getText() != null) {
+            List<String> terms = analyze(params.getText());
+            if (terms.isEmpty()) {
+                query.add(new MatchNoDocsQuery(), BooleanClause.Occur.MUST);
+            }
+            for (String term : terms) {
+                query.add(new BooleanQuery.Builder()
+                        .add(new BoostQuery(new TermQuery(new Term(TITLE, term)), 2f), BooleanClause.Occur.SHOULD)
+                        .add(new TermQuery(new Term(ANNOTATION, term)), BooleanClause.Occur.SHOULD)
+                        .add(new TermQuery(new Term(DESCRIPTION, term)), BooleanClause.Occur.SHOULD)
+                        .build(), BooleanClause.Occur.MUST);
+            }
+        }
+
+        if (params.getCategories() != null && !params.getCategories().isEmpty()) {
+            query.add(LongPoint.newSetQuery(CATEGORY, params.getCategories()), BooleanClause.Occur.FILTER);
+        }
+
+        if (params.getPaid() != null) {
+            query.add(IntPoint.newExactQuery(PAID, params.getPaid() ? 1 : 0), BooleanClause.Occur.FILTER);
+        }
+
+        if (params.getRangeStart() == null && params.getRangeEnd() == null) {
+            query.add(LongPoint.newRangeQuery(EVENT_DATE, toMillis(LocalDateTime.now()), Long.MAX_VALUE),
+                    BooleanClause.Occur.FILTER);
+        } else {
+            long start = params.getRangeStart() != null ? toMillis(params.getRangeStart()) : Long.MIN_VALUE;
+            long end = params.getRangeEnd() != null ? toMillis(params.getRangeEnd()) : Long.MAX_VALUE;
+            query.add(LongPoint.newRangeQuery(EVENT_DATE, start, end), BooleanClause.Occur.FILTER);
+        }
+
+        if (params.getLat() != null) {
+            query.add(LatLonPoint.newDistanceQuery(LOCATION, params.getLat(), params.getLon(), params.getRadiusKm() * 1000),
+                    BooleanClause.Occur.FILTER);
+        }
+
+        return query.build();
+    }
+
+    private Sort toSort(EventSearchParams params) {
+        SortField byId = new SortField(ID_SORT, SortField.Type.LONG);
+        if ("RELEVANCE".equalsIgnoreCase(params.getSort()) && params.getText() != null) {
+            return new Sort(SortField.FIELD_SCORE, byId);
+        }
+        if ("EVENT_DATE".equalsIgnoreCase(params.getSort())) {
+            return new Sort(new SortField(EVENT_DATE, SortField.Type.LONG), byId);
+        }
+        if ("DISTANCE".equalsIgnoreCase(params.getSort())) {
+            return new Sort(LatLonDocValuesField.newDistanceSort(LOCATION, params.getLat(), params.getLon()), byId);
+        }
+        return new Sort(byId);
+    }
+
+    private List<String> analyze(String text) throws IOException {
+        List<String> terms = new ArrayList<>();
+        try (TokenStream stream = analyzer.tokenStream(DESCRIPTION, text)) {
+            CharTermAttribute term = stream.addAttribute(CharTermAttribute.class);
+            stream.reset();
+            while (stream.incrementToken()) {
+                terms.add(term.toString());
+            }
+            stream.end();
+        }
+        return terms;
+    }
+
+    private static long toMillis(LocalDateTime dateTime) {
+        return dateTime.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+
+    private static String nullToEmpty(String value) {
+        return value != null ? value : "";
+    }
+}
@@ -0,0 +1,63 @@
+package ru.practicum.ewm.event.search;
+
+import jakarta.persistence.EntityManager;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ru.practicum.ewm.enums.EventState;
+import ru.practicum.ewm.event.EventRepository;
+import ru.practicum.ewm.event.model.Event;
+
+import java.util.List;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+@ConditionalOnProperty(name = "ewm.search.engine", havingValue = "lucene")
+public class EventSearchIndexer {
+
+    static int REBUILD_BATCH_SIZE = 500;
+
+    EventRepository eventRepository;
+    EventSearchIndex searchIndex;
+    EntityManager entityManager;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        searchIndex.clear();
+        long afterId = 0L;
+        int indexed = 0;
+        List<Event> batch;
+        do {
+            batch = eventRepository.findAllByStateAndIdGreaterThanOrderById(EventState.PUBLISHED, afterId,
+                    Limit.of(REBUILD_BATCH_SIZE));
+            if (batch.isEmpty()) {
+                break;
+            }
+            searchIndex.addAll(batch);
+            indexed += batch.size();
+            afterId = batch.getLast().getId();
+            // Проиндексированные события больше не нужны, иначе контекст персистентности растёт до размера таблицы
+            entityManager.clear();
+        } while (batch.size() == REBUILD_BATCH_SIZE);
+        log.info("Поисковый индекс событий построен, проиндексировано: {}", indexed);
+    }
+
+    @TransactionalEventListener
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public void onEventChanged(EventChangedEvent changed) {
+        eventRepository.findById(changed.eventId())
+                .ifPresentOrElse(searchIndex::index, () -> searchIndex.remove(changed.eventId()));
+    }
+}
@@ -0,0 +1,85 @@
+package ru.practicum.ewm.event.service;
+
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import ru.practicum.ewm.event.dto.EventFullView;
+import ru.practicum.ewm.event.dto.EventShortView;
+import ru.practicum.ewm.exception.IncorrectRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.Map;
+
+/**
+ * Непрозрачный курсор для постраничного обхода событий по ключу (eventDate, id) или (views, id).
+ * Формат до кодирования: "<ключ>|<значение>|<id>".
+ */
+final class EventCursor {
+
+    private static final String SEPARATOR = "|";
+
+    enum Key {
+        EVENT_DATE("eventDate"),
+        VIEWS("views");
+
+        private final String property;
+
+        Key(String property) {
+            this.property = property;
+        }
+
+        static Key of(String sort) {
+            return "VIEWS".equalsIgnoreCase(sort) ? VIEWS : EVENT_DATE;
+        }
+
+        String property() {
+            return property;
+        }
+
+        Object value(EventShortView event) {
+            return this == VIEWS ? event.views() : event.eventDate();
+        }
+
+        Object value(EventFullView event) {
+            return this == VIEWS ? event.views() : event.eventDate();
+        }
+
+        Object parse(String value) {
+            return this == VIEWS ? Long.valueOf(value) : LocalDateTime.parse(value);
+        }
+    }
+
+    private EventCursor() {
+    }
+
+    static String encode(Key key, EventShortView event) {
+        return encode(key, key.value(event), event.id());
+    }
+
+    static String encode(Key key, EventFullView event) {
+        return encode(key, key.value(event), event.id());
+    }
+
+    private static String encode(Key key, Object value, Long id) {
+        String raw = key.name() + SEPARATOR + value + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static KeysetScrollPosition decode(Key key, String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return ScrollPosition.keyset();
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", 3);
+            if (parts.length != 3 || !parts[0].equals(key.name())) {
+                throw new IncorrectRequestException("Курсор не соответствует параметрам сортировки");
+            }
+            return ScrollPosition.forward(Map.of(key.property, key.parse(parts[1]), "id", Long.valueOf(parts[2])));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new IncorrectRequestException("Некорректный курсор: " + cursor);
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package ru.practicum.ewm.event.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ru.practicum.ewm.common.AfterCommit;
+import ru.practicum.ewm.event.dto.EventFullDto;
+import ru.practicum.ewm.event.search.EventChangedEvent;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Кэш карточек опубликованных событий. Просмотры и число подтверждённых заявок меняются чаще самой карточки,
+ * поэтому подставляются при каждом чтении и в кэше не хранятся.
+ * Перед загрузкой из БД запоминается поколение кэша: карточка, прочитанная до инвалидации, в кэш не попадает.
+ */
+@Slf4j
+@Component
+public class EventDetailsCache {
+
+    private final boolean enabled;
+    private final Map<Long, EventFullDto> entries;
+    private long generation;
+
+    public EventDetailsCache(@Value("${ewm.event-cache.enabled:true}") boolean enabled,
+                             @Value("${ewm.event-cache.max-size:1000}") int maxSize) {
+        this.enabled = enabled;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, EventFullDto> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    public synchronized long generation() {
+        return generation;
+    }
+
+    public synchronized Optional<EventFullDto> get(Long eventId) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(entries.get(eventId)).map(event -> event.toBuilder().build());
+    }
+
+    public synchronized void put(Long eventId, EventFullDto event, long loadedGeneration) {
+        if (enabled && generation == loadedGeneration) {
+            entries.put(eventId, event.toBuilder().build());
+        }
+    }
+
+    public void evict(Long eventId) {
+        AfterCommit.run(() -> invalidate(eventId));
+    }
+
+    public void clear() {
+        AfterCommit.run(() -> invalidate(null));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEventChanged(EventChangedEvent changed) {
+        invalidate(changed.eventId());
+    }
+
+    private synchronized void invalidate(Long eventId) {
+        generation++;
+        if (eventId == null) {
+            entries.clear();
+            log.debug("Кэш карточек событий очищен");
+        } else {
+            entries.remove(eventId);
+        }
+    }
+}
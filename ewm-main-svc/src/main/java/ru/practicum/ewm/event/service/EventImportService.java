@@ -0,0 +1,10 @@
+package ru.practicum.ewm.event.service;
+
+import ru.practicum.ewm.event.dto.EventImportResult;
+
+import java.io.InputStream;
+
+public interface EventImportService {
+
+    EventImportResult importEvents(Long userId, InputStream json);
+}
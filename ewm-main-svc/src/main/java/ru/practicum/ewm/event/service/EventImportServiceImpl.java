@@ -0,0 +1,174 @@
+package ru.practicum.ewm.event.service;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.ewm.category.CategoryRepository;
+import ru.practicum.ewm.category.model.Category;
+import ru.practicum.ewm.event.dto.EventImportError;
+import ru.practicum.ewm.event.dto.EventImportResult;
+import ru.practicum.ewm.event.dto.NewEventDto;
+import ru.practicum.ewm.event.mapper.EventMapper;
+import ru.practicum.ewm.event.model.Event;
+import ru.practicum.ewm.exception.IncorrectRequestException;
+import ru.practicum.ewm.exception.NotFoundException;
+import ru.practicum.ewm.user.UserRepository;
+import ru.practicum.ewm.user.model.User;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Потоковый импорт событий из JSON-массива. Элементы проверяются по одному при чтении,
+ * корректные сохраняются пачками в отдельных транзакциях, ошибочные попадают в отчёт.
+ */
+@Slf4j
+@Service
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class EventImportServiceImpl implements EventImportService {
+
+    private static final int MIN_HOURS_BEFORE_EVENT = 2;
+
+    ObjectMapper objectMapper;
+    Validator validator;
+    EntityManager entityManager;
+    TransactionTemplate transactionTemplate;
+    UserRepository userRepository;
+    CategoryRepository categoryRepository;
+    int chunkSize;
+    int maxReportedErrors;
+
+    public EventImportServiceImpl(ObjectMapper objectMapper, Validator validator, EntityManager entityManager,
+                                  PlatformTransactionManager transactionManager,
+                                  UserRepository userRepository, CategoryRepository categoryRepository,
+                                  @Value("${ewm.event-import.chunk-size:500}") int chunkSize,
+                                  @Value("${ewm.event-import.max-reported-errors:100}") int maxReportedErrors) {
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.userRepository = userRepository;
+        this.categoryRepository = categoryRepository;
+        this.chunkSize = chunkSize;
+        this.maxReportedErrors = maxReportedErrors;
+    }
+
+    @Override
+    public EventImportResult importEvents(Long userId, InputStream json) {
+        if (!userRepository.existsById(userId)) {
+            throw new NotFoundException("Пользователь с ID " + userId + " не найден");
+        }
+
+        Map<Long, Boolean> categories = new HashMap<>();
+        List<EventImportError> errors = new ArrayList<>();
+        List<NewEventDto> chunk = new ArrayList<>(chunkSize);
+        long index = 0;
+        long imported = 0;
+        long rejected = 0;
+        try (JsonParser parser = objectMapper.createParser(json)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IncorrectRequestException("Тело запроса должно быть JSON-массивом событий");
+            }
+            while (parser.nextToken() != JsonToken.END_ARRAY) {
+                if (parser.currentToken() == null) {
+                    throw new IncorrectRequestException("JSON-массив событий не завершён");
+                }
+                JsonNode node = parser.readValueAsTree();
+                NewEventDto dto = null;
+                String error;
+                try {
+                    dto = objectMapper.treeToValue(node, NewEventDto.class);
+                    error = validate(dto, categories);
+                } catch (JsonProcessingException e) {
+                    error = e.getOriginalMessage();
+                }
+                if (error == null) {
+                    chunk.add(dto);
+                } else {
+                    rejected++;
+                    if (errors.size() < maxReportedErrors) {
+                        errors.add(new EventImportError(index, error));
+                    }
+                }
+                index++;
+                if (chunk.size() == chunkSize) {
+                    imported += save(userId, chunk);
+                    chunk.clear();
+                }
+            }
+            imported += save(userId, chunk);
+        } catch (IOException e) {
+            throw new IncorrectRequestException("Некорректный JSON в элементе " + index + ": " + e.getMessage()
+                    + ". Сохранено событий до ошибки: " + imported);
+        }
+
+        log.info("Импорт событий пользователя {} завершён: сохранено {}, отклонено {}", userId, imported, rejected);
+        return EventImportResult.builder()
+                .imported(imported)
+                .rejected(rejected)
+                .errors(errors)
+                .build();
+    }
+
+    private String validate(NewEventDto dto, Map<Long, Boolean> categories) {
+        Set<ConstraintViolation<NewEventDto>> violations = validator.validate(dto);
+        if (!violations.isEmpty()) {
+            return violations.stream()
+                    .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining("; "));
+        }
+        if (dto.getLocation() == null) {
+            return "Не указано место проведения";
+        }
+        if (dto.getEventDate() == null
+                || dto.getEventDate().isBefore(LocalDateTime.now().plusHours(MIN_HOURS_BEFORE_EVENT))) {
+            return "Дата мероприятия должна быть не ранее, чем через " + MIN_HOURS_BEFORE_EVENT
+                    + " часа(ов) от текущего момента";
+        }
+        if (dto.getCategory() == null
+                || !categories.computeIfAbsent(dto.getCategory(), categoryRepository::existsById)) {
+            return "Категория с ID " + dto.getCategory() + " не найдена";
+        }
+        return null;
+    }
+
+    private int save(Long userId, List<NewEventDto> chunk) {
+        if (chunk.isEmpty()) {
+            return 0;
+        }
+        LocalDateTime createdOn = LocalDateTime.now();
+        transactionTemplate.executeWithoutResult(status -> {
+            User initiator = entityManager.getReference(User.class, userId);
+            for (NewEventDto dto : chunk) {
+                Event event = EventMapper.toEvent(dto);
+                event.setCreatedOn(createdOn);
+                event.setInitiator(initiator);
+                event.setCategory(entityManager.getReference(Category.class, dto.getCategory()));
+                entityManager.persist(event);
+            }
+            entityManager.flush();
+            entityManager.clear();
+        });
+        return chunk.size();
+    }
+}
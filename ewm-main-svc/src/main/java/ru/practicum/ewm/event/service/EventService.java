@@ -3,22 +3,34 @@ package ru.practicum.ewm.event.service;
 import jakarta.servlet.http.HttpServletRequest;
 import ru.practicum.ewm.event.dto.*;
 import java.util.Collection;
+import java.util.List;
+import java.util.function.Consumer;
 
 public interface EventService {
     EventFullDto create(Long userId, NewEventDto newEventDto);
 
     EventFullDto updateEventByAdmin(Long eventId, UpdateEventAdminRequest adminRequest);
 
+    List<EventStateUpdateResult> updateStatesByAdmin(BulkEventStateUpdateRequest request);
+
     EventFullDto updateEventByPrivate(Long userId, Long eventId, UpdateEventUserRequest eventUserRequest);
 
     EventFullDto getEventOfUser(Long userId, Long eventId);
 
     Collection<EventShortDto> findAllByPublic(EventSearchParams params, HttpServletRequest request);
 
+    EventScrollDto<EventShortDto> scrollByPublic(EventSearchParams params, String cursor, HttpServletRequest request);
+
     Collection<EventShortDto> findAllByPrivate(Long userId, Integer from, Integer size, HttpServletRequest request);
 
     Collection<EventFullDto> findAllByAdmin(EventSearchParams params, HttpServletRequest request);
 
+    EventScrollDto<EventFullDto> scrollByAdmin(EventSearchParams params, String cursor);
+
+    void exportByAdmin(EventSearchParams params, Consumer<List<EventFullDto>> chunkConsumer);
+
     EventFullDto findEventById(Long eventId, HttpServletRequest request);
 
+    void sendStats(HttpServletRequest request);
+
 }
@@ -1,44 +1,50 @@
 package ru.practicum.ewm.event.service;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import org.springframework.http.*;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.ewm.category.CategoryRepository;
-import ru.practicum.ewm.category.mapper.CategoryMapper;
 import ru.practicum.ewm.category.model.Category;
+import ru.practicum.ewm.common.ReadOnlyTransaction;
 import ru.practicum.ewm.event.EventRepository;
 import ru.practicum.ewm.event.dto.*;
 import ru.practicum.ewm.event.mapper.EventMapper;
 import ru.practicum.ewm.event.model.Event;
+import ru.practicum.ewm.event.search.EventChangedEvent;
+import ru.practicum.ewm.event.search.EventSearchFunctionContributor;
+import ru.practicum.ewm.event.search.EventSearchIndex;
 import ru.practicum.ewm.exception.*;
+import ru.practicum.ewm.location.GeoHash;
 import ru.practicum.ewm.location.LocationRepository;
 import ru.practicum.ewm.location.mapper.LocationMapper;
 import ru.practicum.ewm.location.model.Location;
-import ru.practicum.ewm.request.EventRequestRepository;
 import ru.practicum.ewm.user.UserRepository;
-import ru.practicum.ewm.user.mapper.UserMapper;
 import ru.practicum.ewm.user.model.User;
 import ru.practicum.ewm.enums.EventState;
-import ru.practicum.ewm.enums.RequestStatus;
 import ru.practicum.ewm.enums.StateAction;
 import ru.practicum.stat.StatisticsClient;
-import ru.practicum.stat.ViewStatsDto;
 import org.springframework.data.jpa.domain.Specification;
 
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Join;
 import jakarta.persistence.criteria.Predicate;
 
 @Service
@@ -50,15 +56,21 @@ public class EventServiceImpl implements EventService {
     static DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
     static int MIN_HOURS_BEFORE_EVENT = 2;
     static int MIN_HOURS_BEFORE_PUBLISH = 1;
+    static double EARTH_RADIUS_KM = 6371.0;
+    static int EXPORT_CHUNK_SIZE = 500;
+    static int BULK_UPDATE_CHUNK_SIZE = 1000;
 
     EventRepository eventRepository;
     CategoryRepository categoryRepository;
     LocationRepository locationRepository;
     UserRepository userRepository;
-    EventRequestRepository eventRequestRepository;
 
     StatisticsClient statClient;
-    ObjectMapper mapper;
+    ApplicationEventPublisher eventPublisher;
+    Optional<EventSearchIndex> searchIndex;
+    EntityManager entityManager;
+    EventDetailsCache eventDetailsCache;
+    ReadOnlyTransaction readOnlyTransaction;
 
     @Override
     @Transactional
@@ -80,6 +92,7 @@ public class EventServiceImpl implements EventService {
         event.setLocation(savedLocation);
 
         Event eventSaved = eventRepository.save(event);
+        eventPublisher.publishEvent(new EventChangedEvent(eventSaved.getId()));
 
         return EventMapper.toEventFullDto(eventSaved);
     }
@@ -101,9 +114,72 @@ public class EventServiceImpl implements EventService {
         processStateAction(event, adminRequest.getStateAction());
 
         Event updatedEvent = eventRepository.save(event);
+        eventPublisher.publishEvent(new EventChangedEvent(updatedEvent.getId()));
         return EventMapper.toEventFullDto(updatedEvent);
     }
 
+    @Override
+    @Transactional
+    public List<EventStateUpdateResult> updateStatesByAdmin(BulkEventStateUpdateRequest request) {
+        StateAction stateAction = request.getStateAction();
+        if (stateAction != StateAction.PUBLISH_EVENT && stateAction != StateAction.REJECT_EVENT) {
+            throw new ForbiddenException("Неизвестный state action");
+        }
+
+        List<Long> eventIds = request.getEventIds().stream().distinct().toList();
+        Map<Long, EventStateUpdateResult> results = new HashMap<>();
+        LocalDateTime now = LocalDateTime.now();
+        int updated = 0;
+        for (int from = 0; from < eventIds.size(); from += BULK_UPDATE_CHUNK_SIZE) {
+            List<Long> chunk = eventIds.subList(from, Math.min(from + BULK_UPDATE_CHUNK_SIZE, eventIds.size()));
+            List<Long> allowed = new ArrayList<>();
+            for (Object[] row : eventRepository.findStatesForUpdate(chunk)) {
+                Long eventId = (Long) row[0];
+                EventState state = (EventState) row[1];
+                String conflict = checkStateTransition(state, (LocalDateTime) row[2], stateAction, now);
+                if (conflict == null) {
+                    allowed.add(eventId);
+                } else {
+                    results.put(eventId, EventStateUpdateResult.builder()
+                            .eventId(eventId)
+                            .status(EventStateUpdateResult.Status.CONFLICT)
+                            .state(state)
+                            .message(conflict)
+                            .build());
+                }
+            }
+            if (allowed.isEmpty()) {
+                continue;
+            }
+
+            EventState newState;
+            if (stateAction == StateAction.PUBLISH_EVENT) {
+                updated += eventRepository.publishAll(allowed, now);
+                newState = EventState.PUBLISHED;
+            } else {
+                updated += eventRepository.cancelAll(allowed);
+                newState = EventState.CANCELED;
+            }
+            for (Long eventId : allowed) {
+                results.put(eventId, EventStateUpdateResult.builder()
+                        .eventId(eventId)
+                        .status(EventStateUpdateResult.Status.UPDATED)
+                        .state(newState)
+                        .build());
+                eventPublisher.publishEvent(new EventChangedEvent(eventId));
+            }
+        }
+        log.info("Массовое действие {}: обновлено {} из {} событий", stateAction, updated, eventIds.size());
+
+        return eventIds.stream()
+                .map(eventId -> results.getOrDefault(eventId, EventStateUpdateResult.builder()
+                        .eventId(eventId)
+                        .status(EventStateUpdateResult.Status.NOT_FOUND)
+                        .message("Событие с ID = " + eventId + " не найдено")
+                        .build()))
+                .toList();
+    }
+
     @Override
     @Transactional
     public EventFullDto updateEventByPrivate(Long userId, Long eventId, UpdateEventUserRequest eventUserRequest) {
@@ -126,6 +202,7 @@ public class EventServiceImpl implements EventService {
         processStateAction(event, eventUserRequest.getStateAction());
 
         Event updatedEvent = eventRepository.save(event);
+        eventPublisher.publishEvent(new EventChangedEvent(updatedEvent.getId()));
         return EventMapper.toEventFullDto(updatedEvent);
     }
 
@@ -143,28 +220,197 @@ public class EventServiceImpl implements EventService {
     }
 
     @Override
-    @Transactional
     public Collection<EventShortDto> findAllByPublic(EventSearchParams params, HttpServletRequest request) {
+        validatePublicParams(params);
+
+        Sort sort = Sort.by("id");
+        if ("RELEVANCE".equalsIgnoreCase(params.getSort()) && params.getText() != null
+                || "DISTANCE".equalsIgnoreCase(params.getSort())) {
+            sort = Sort.unsorted();
+        } else if ("EVENT_DATE".equalsIgnoreCase(params.getSort())) {
+            sort = Sort.by("eventDate").and(sort);
+        } else if ("VIEWS".equalsIgnoreCase(params.getSort())) {
+            sort = Sort.by("views").and(sort);
+        }
+        Pageable pageable = PageRequest.of(params.getFrom(), params.getSize(), sort);
+
+        List<EventShortView> events;
+        if (searchIndex.isPresent() && searchIndex.get().supports(params)) {
+            List<Long> ids = searchIndex.get().search(params);
+            events = readOnlyTransaction.execute(() -> findPublishedShortViewsByIds(ids));
+        } else {
+            events = readOnlyTransaction.execute(() -> eventRepository.findShortViews(publicSpecification(params), pageable));
+        }
+
+        sendStats(request);
+
+        return toEventShortDtos(events);
+    }
+
+    @Override
+    public EventScrollDto<EventShortDto> scrollByPublic(EventSearchParams params, String cursor, HttpServletRequest request) {
+        validatePublicParams(params);
+        if ("RELEVANCE".equalsIgnoreCase(params.getSort()) || "DISTANCE".equalsIgnoreCase(params.getSort())) {
+            throw new IncorrectRequestException("Сортировка " + params.getSort() + " не поддерживается при выборке по курсору");
+        }
+
+        EventCursor.Key key = EventCursor.Key.of(params.getSort());
+        // Лишняя строка показывает, есть ли следующая страница
+        List<EventShortView> events = readOnlyTransaction.execute(() -> eventRepository.scrollShortViews(
+                publicSpecification(params), key.property(), EventCursor.decode(key, cursor), params.getSize() + 1));
+        boolean hasNext = events.size() > params.getSize();
+        if (hasNext) {
+            events = events.subList(0, params.getSize());
+        }
+        String nextCursor = hasNext ? EventCursor.encode(key, events.getLast()) : null;
+
+        sendStats(request);
+
+        return EventScrollDto.<EventShortDto>builder()
+                .events(toEventShortDtos(events))
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    @Override
+    public Collection<EventShortDto> findAllByPrivate(Long userId, Integer from, Integer size, HttpServletRequest request) {
+
+        Pageable pageable = PageRequest.of(from, size);
+        List<EventShortView> events = readOnlyTransaction.execute(() -> {
+            User user = getUserById(userId);
+            return eventRepository.findShortViewsByInitiatorId(user.getId(), pageable);
+        });
+
+        return toEventShortDtos(events);
+    }
+
+    @Override
+    public Collection<EventFullDto> findAllByAdmin(EventSearchParams params, HttpServletRequest request) {
 
+        Pageable pageable = PageRequest.of(params.getFrom(), params.getSize());
+
+        List<EventFullDto> events;
+        try {
+            events = readOnlyTransaction.execute(() -> eventRepository.findAllByAdmin(params.getUsers(), params.getStates(),
+                            params.getCategories(), params.getRangeStart(), params.getRangeEnd(), pageable).stream()
+                    .map(EventMapper::toEventFullDto)
+                    .collect(Collectors.toList()));
+        } catch (Exception e) {
+            log.error("Ошибка при выполнении запроса к БД: ", e);
+            throw new RuntimeException("Ошибка при получении данных из базы данных", e);
+        }
+
+        return withViews(events);
+    }
+
+    @Override
+    public EventScrollDto<EventFullDto> scrollByAdmin(EventSearchParams params, String cursor) {
+        EventCursor.Key key = EventCursor.Key.of(params.getSort());
+        List<EventFullView> events = readOnlyTransaction.execute(() -> eventRepository.scrollFullViews(
+                adminSpecification(params), key.property(), EventCursor.decode(key, cursor), params.getSize() + 1));
+        boolean hasNext = events.size() > params.getSize();
+        if (hasNext) {
+            events = events.subList(0, params.getSize());
+        }
+
+        return EventScrollDto.<EventFullDto>builder()
+                .events(withViews(events.stream().map(EventMapper::toEventFullDto).collect(Collectors.toList())))
+                .nextCursor(hasNext ? EventCursor.encode(key, events.getLast()) : null)
+                .build();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportByAdmin(EventSearchParams params, Consumer<List<EventFullDto>> chunkConsumer) {
+        long exported = 0;
+        try (Stream<Event> events = eventRepository.streamAllByAdmin(params.getUsers(), params.getStates(),
+                params.getCategories(), params.getRangeStart(), params.getRangeEnd())) {
+            List<Event> chunk = new ArrayList<>(EXPORT_CHUNK_SIZE);
+            Iterator<Event> iterator = events.iterator();
+            while (iterator.hasNext()) {
+                chunk.add(iterator.next());
+                if (chunk.size() == EXPORT_CHUNK_SIZE || !iterator.hasNext()) {
+                    // Просмотры берутся из колонки views: запрос к сервису статистики держал бы открытым курсор
+                    chunkConsumer.accept(chunk.stream().map(EventMapper::toEventFullDto).toList());
+                    exported += chunk.size();
+                    chunk.clear();
+                    // Выгруженные события больше не нужны, иначе контекст персистентности растёт вместе с выгрузкой
+                    entityManager.clear();
+                }
+            }
+        }
+        log.info("Выгружено событий: {}", exported);
+    }
+
+    @Override
+    public EventFullDto findEventById(Long eventId, HttpServletRequest request) {
+        EventFullDto eventFullDto = readOnlyTransaction.execute(() -> findPublishedEvent(eventId));
+
+        sendStats(request);
+
+        eventFullDto.setViews(getViews(Map.of(eventId, eventFullDto.getViews()), eventFullDto.getCreatedOn()).get(eventId));
+        return eventFullDto;
+    }
+
+    private EventFullDto findPublishedEvent(Long eventId) {
+        Optional<EventFullDto> cached = eventDetailsCache.get(eventId);
+        EventFullDto eventFullDto;
+        if (cached.isPresent()) {
+            eventFullDto = cached.get();
+            EventCounters counters = eventRepository.findCountersById(eventId)
+                    .orElseThrow(() -> new NotFoundException("Событие с ID = " + eventId + " не найдено"));
+            eventFullDto.setConfirmedRequests(counters.getConfirmedRequests());
+            eventFullDto.setViews(counters.getViews());
+        } else {
+            long generation = eventDetailsCache.generation();
+            Event event = getEventById(eventId);
+
+            if (!event.getState().equals(EventState.PUBLISHED)) {
+                throw new NotFoundException("Событие с ID = " + eventId + " не опубликовано");
+            }
+
+            eventFullDto = EventMapper.toEventFullDto(event);
+            eventDetailsCache.put(eventId, eventFullDto, generation);
+        }
+        return eventFullDto;
+    }
+
+    private void validatePublicParams(EventSearchParams params) {
         if (params.getRangeStart() != null && params.getRangeEnd() != null && params.getRangeStart().isAfter(params.getRangeEnd())) {
             throw new IllegalArgumentException("rangeStart должен быть раньше rangeEnd");
         }
 
-        if (params.getSort() != null && !List.of("EVENT_DATE", "VIEWS").contains(params.getSort().toUpperCase())) {
+        if (params.getSort() != null && !List.of("EVENT_DATE", "VIEWS", "RELEVANCE", "DISTANCE").contains(params.getSort().toUpperCase())) {
             throw new IncorrectRequestException("Unknown sort type");
         }
 
-        Pageable pageable = PageRequest.of(params.getFrom(), params.getSize());
-        Specification<Event> spec = (root, query, criteriaBuilder) -> {
+        boolean geoSearch = params.getLat() != null || params.getLon() != null || params.getRadiusKm() != null;
+        if (geoSearch && (params.getLat() == null || params.getLon() == null || params.getRadiusKm() == null)) {
+            throw new IncorrectRequestException("Для поиска по расстоянию нужны lat, lon и radiusKm");
+        }
+        if ("DISTANCE".equalsIgnoreCase(params.getSort()) && !geoSearch) {
+            throw new IncorrectRequestException("Сортировка DISTANCE требует lat, lon и radiusKm");
+        }
+    }
+
+    private Specification<Event> publicSpecification(EventSearchParams params) {
+        return (root, query, criteriaBuilder) -> {
             List<Predicate> predicates = new ArrayList<>();
             predicates.add(criteriaBuilder.equal(root.get("state"), EventState.PUBLISHED));
 
 
             if (params.getText() != null) {
-                predicates.add(criteriaBuilder.or(
-                        criteriaBuilder.like(criteriaBuilder.lower(root.get("annotation")), "%" + params.getText().toLowerCase() + "%"),
-                        criteriaBuilder.like(criteriaBuilder.lower(root.get("description")), "%" + params.getText().toLowerCase() + "%")
-                ));
+                predicates.add(criteriaBuilder.isTrue(criteriaBuilder.function(EventSearchFunctionContributor.MATCH, Boolean.class,
+                        root.get("title"), root.get("annotation"), root.get("description"),
+                        criteriaBuilder.literal(params.getText()))));
+
+                if ("RELEVANCE".equalsIgnoreCase(params.getSort()) && query.getResultType() != Long.class) {
+                    query.orderBy(
+                            criteriaBuilder.desc(criteriaBuilder.function(EventSearchFunctionContributor.RANK, Double.class,
+                                    root.get("title"), root.get("annotation"), root.get("description"),
+                                    criteriaBuilder.literal(params.getText()))),
+                            criteriaBuilder.asc(root.get("id")));
+                }
             }
 
             if (params.getCategories() != null && !params.getCategories().isEmpty()) {
@@ -188,109 +434,88 @@ public class EventServiceImpl implements EventService {
                 ));
             }
 
-            return criteriaBuilder.and(predicates.toArray(new Predicate[0]));
-        };
-
-        Page<Event> eventPage = eventRepository.findAll(spec, pageable);
-
-        sendStats(request);
-
-        List<EventShortDto> eventShortDtos = eventPage.getContent().stream()
-                .map(event -> {
-                    EventShortDto eventDto = EventMapper.toEventShortDto(event);
-                    eventDto.setViews(getViews(event.getId(), event.getCreatedOn(), request));
-                    eventDto.setConfirmedRequests(eventDto.getConfirmedRequests());
-                    return eventDto;
-                })
-                .collect(Collectors.toList());
+            if (params.getLat() != null) {
+                Join<Event, Location> location = root.join("location");
+                List<String> prefixes = GeoHash.coveringPrefixes(params.getLat(), params.getLon(), params.getRadiusKm());
+                if (!prefixes.isEmpty()) {
+                    predicates.add(criteriaBuilder.or(prefixes.stream()
+                            .map(prefix -> criteriaBuilder.like(location.get("geohash"), prefix + "%"))
+                            .toArray(Predicate[]::new)));
+                }
+                Expression<Double> distance = distanceKm(criteriaBuilder, location, params.getLat(), params.getLon());
+                predicates.add(criteriaBuilder.le(distance, params.getRadiusKm()));
 
-        if ("EVENT_DATE".equalsIgnoreCase(params.getSort())) {
-            eventShortDtos.sort(Comparator.comparing(EventShortDto::getEventDate));
-        } else if ("VIEWS".equalsIgnoreCase(params.getSort())) {
-            eventShortDtos.sort(Comparator.comparing(EventShortDto::getViews));
-        }
+                if ("DISTANCE".equalsIgnoreCase(params.getSort()) && query.getResultType() != Long.class) {
+                    query.orderBy(criteriaBuilder.asc(distance), criteriaBuilder.asc(root.get("id")));
+                }
+            }
 
-        return eventShortDtos;
+            return criteriaBuilder.and(predicates.toArray(new Predicate[0]));
+        };
     }
 
-    @Override
-    @Transactional
-    public Collection<EventShortDto> findAllByPrivate(Long userId, Integer from, Integer size, HttpServletRequest request) {
-
-        User user = getUserById(userId);
-        Pageable pageable = PageRequest.of(from, size);
-        List<Event> events = eventRepository.findAllByInitiatorId(user.getId(), pageable);
-
-        List<Long> eventIds = events.stream().map(Event::getId).collect(Collectors.toList());
-        Map<Long, Long> confirmedRequestsMap = getConfirmedRequestsForEvents(eventIds);
+    // Формула гаверсинусов, расстояние в километрах
+    private static Expression<Double> distanceKm(CriteriaBuilder cb, Join<Event, Location> location, double lat, double lon) {
+        Expression<Double> sinHalfDLat = cb.function("sin", Double.class,
+                cb.prod(cb.function("radians", Double.class, cb.diff(location.<Double>get("lat"), lat)), 0.5));
+        Expression<Double> sinHalfDLon = cb.function("sin", Double.class,
+                cb.prod(cb.function("radians", Double.class, cb.diff(location.<Double>get("lon"), lon)), 0.5));
+        Expression<Double> a = cb.sum(
+                cb.prod(sinHalfDLat, sinHalfDLat),
+                cb.prod(cb.prod(Math.cos(Math.toRadians(lat)),
+                                cb.function("cos", Double.class, cb.function("radians", Double.class, location.<Double>get("lat")))),
+                        cb.prod(sinHalfDLon, sinHalfDLon)));
+        return cb.prod(2 * EARTH_RADIUS_KM, cb.function("asin", Double.class, cb.sqrt(a)));
+    }
 
-        return events.stream()
-                .map(event -> {
-                    EventShortDto eventShortDto = EventMapper.toEventShortDto(event);
-                    eventShortDto.setCategory(CategoryMapper.toCategoryDto(event.getCategory()));
-                    eventShortDto.setInitiator(UserMapper.toUserShortDto(event.getInitiator()));
-                    eventShortDto.setViews(getViews(event.getId(), event.getCreatedOn(), request));
+    private Specification<Event> adminSpecification(EventSearchParams params) {
+        return (root, query, criteriaBuilder) -> {
+            List<Predicate> predicates = new ArrayList<>();
 
-                    eventShortDto.setConfirmedRequests(confirmedRequestsMap.getOrDefault(event.getId(), 0L));
+            if (params.getUsers() != null && !params.getUsers().isEmpty()) {
+                predicates.add(root.get("initiator").get("id").in(params.getUsers()));
+            }
 
-                    return eventShortDto;
-                })
-                .collect(Collectors.toCollection(ArrayList::new));
-    }
+            if (params.getStates() != null && !params.getStates().isEmpty()) {
+                predicates.add(root.get("state").in(params.getStates()));
+            }
 
-    @Override
-    @Transactional
-    public Collection<EventFullDto> findAllByAdmin(EventSearchParams params, HttpServletRequest request) {
+            if (params.getCategories() != null && !params.getCategories().isEmpty()) {
+                predicates.add(root.get("category").get("id").in(params.getCategories()));
+            }
 
-        Pageable pageable = PageRequest.of(params.getFrom(), params.getSize());
+            if (params.getRangeStart() != null) {
+                predicates.add(criteriaBuilder.greaterThanOrEqualTo(root.get("eventDate"), params.getRangeStart()));
+            }
 
-        List<Event> eventList;
-        try {
-            eventList = eventRepository.findAllByAdmin(params.getUsers(), params.getStates(), params.getCategories(), params.getRangeStart(), params.getRangeEnd(), pageable);
-        } catch (Exception e) {
-            log.error("Ошибка при выполнении запроса к БД: ", e);
-            throw new RuntimeException("Ошибка при получении данных из базы данных", e);
-        }
+            if (params.getRangeEnd() != null) {
+                predicates.add(criteriaBuilder.lessThan(root.get("eventDate"), params.getRangeEnd()));
+            }
 
-        List<Long> eventIds = eventList.stream().map(Event::getId).collect(Collectors.toList());
-        Map<Long, Long> confirmedRequestsMap = getConfirmedRequestsForEvents(eventIds);
+            return criteriaBuilder.and(predicates.toArray(new Predicate[0]));
+        };
+    }
 
-        return eventList.stream()
+    private List<EventShortDto> toEventShortDtos(List<EventShortView> events) {
+        Map<Long, Long> views = getViews(
+                events.stream().collect(Collectors.toMap(EventShortView::id, EventShortView::views)),
+                events.stream().map(EventShortView::createdOn).min(Comparator.naturalOrder()).orElse(null));
+        return events.stream()
                 .map(event -> {
-                    EventFullDto dto = EventMapper.toEventFullDto(event);
-                    dto.setViews(getViews(event.getId(), event.getCreatedOn(), request));
-                    dto.setConfirmedRequests(confirmedRequestsMap.getOrDefault(event.getId(), 0L));
-                    return dto;
+                    EventShortDto eventDto = EventMapper.toEventShortDto(event);
+                    eventDto.setViews(views.get(event.id()));
+                    return eventDto;
                 })
                 .collect(Collectors.toList());
     }
 
-    @Override
-    @Transactional
-    public EventFullDto findEventById(Long eventId, HttpServletRequest request) {
-        Event event = getEventById(eventId);
-
-        if (!event.getState().equals(EventState.PUBLISHED)) {
-            throw new NotFoundException("Событие с ID = " + eventId + " не опубликовано");
-        }
-
-        sendStats(request);
-
-        EventFullDto eventFullDto = EventMapper.toEventFullDto(event);
-        eventFullDto.setViews(getViews(eventId, event.getCreatedOn(), request));
-        eventFullDto.setConfirmedRequests(eventRequestRepository.countByEventIdAndStatus(eventId, RequestStatus.CONFIRMED));
-        return eventFullDto;
-    }
-
-    private Map<Long, Long> getConfirmedRequestsForEvents(List<Long> eventIds) {
-        List<Object[]> results = eventRequestRepository.countByEventIdInAndStatus(eventIds, RequestStatus.CONFIRMED);
-        Map<Long, Long> confirmedRequestsMap = new HashMap<>();
-        for (Object[] result : results) {
-            Long eventId = (Long) result[0];
-            Long count = (Long) result[1];
-            confirmedRequestsMap.put(eventId, count);
-        }
-        return confirmedRequestsMap;
+    private List<EventShortView> findPublishedShortViewsByIds(List<Long> ids) {
+        Map<Long, EventShortView> events = eventRepository.findPublishedShortViewsByIdIn(ids).stream()
+                .collect(Collectors.toMap(EventShortView::id, Function.identity()));
+        return ids.stream()
+                .map(events::get)
+                .filter(Objects::nonNull)
+                .toList();
     }
 
     private void validateEventDate(LocalDateTime eventDate) {
@@ -305,11 +530,9 @@ public class EventServiceImpl implements EventService {
     }
 
     private void validateEventDateForAdmin(LocalDateTime eventDate, StateAction stateAction) {
-        if (eventDate.isBefore(LocalDateTime.now().plusHours(MIN_HOURS_BEFORE_EVENT))) {
-            throw new ValidationException("Дата мероприятия должна быть на " + MIN_HOURS_BEFORE_EVENT + "часа раньше текущего момента");
-        }
-        if (stateAction != null && stateAction.equals(StateAction.PUBLISH_EVENT) && eventDate.isBefore(LocalDateTime.now().plusHours(MIN_HOURS_BEFORE_PUBLISH))) {
-            throw new ValidationException("Дата события должна быть на " + MIN_HOURS_BEFORE_PUBLISH + " час раньше момента публикации");
+        String violation = checkEventDateForAdmin(eventDate, stateAction, LocalDateTime.now());
+        if (violation != null) {
+            throw new ValidationException(violation);
         }
     }
 
@@ -317,13 +540,36 @@ public class EventServiceImpl implements EventService {
         if (stateAction != null && !stateAction.equals(StateAction.REJECT_EVENT) && !stateAction.equals(StateAction.PUBLISH_EVENT)) {
             throw new ForbiddenException("Неизвестный state action");
         }
-        if (!state.equals(EventState.PENDING) && stateAction.equals(StateAction.PUBLISH_EVENT)) {
-            throw new ConflictException("\n" +
-                    "Не удается опубликовать незавершенное событие");
+        String conflict = checkStateForAdmin(state, stateAction);
+        if (conflict != null) {
+            throw new ConflictException(conflict);
         }
-        if (state.equals(EventState.PUBLISHED) && stateAction.equals(StateAction.REJECT_EVENT)) {
-            throw new ConflictException("Невозможно отклонить уже опубликованное событие");
+    }
+
+    // Массовая смена состояния проверяется по тем же правилам, что и updateEventByAdmin, но нарушение возвращается сообщением
+    private String checkStateTransition(EventState state, LocalDateTime eventDate, StateAction stateAction, LocalDateTime now) {
+        String violation = checkEventDateForAdmin(eventDate, stateAction, now);
+        return violation != null ? violation : checkStateForAdmin(state, stateAction);
+    }
+
+    private String checkEventDateForAdmin(LocalDateTime eventDate, StateAction stateAction, LocalDateTime now) {
+        if (eventDate.isBefore(now.plusHours(MIN_HOURS_BEFORE_EVENT))) {
+            return "Дата мероприятия должна быть на " + MIN_HOURS_BEFORE_EVENT + "часа раньше текущего момента";
+        }
+        if (stateAction == StateAction.PUBLISH_EVENT && eventDate.isBefore(now.plusHours(MIN_HOURS_BEFORE_PUBLISH))) {
+            return "Дата события должна быть на " + MIN_HOURS_BEFORE_PUBLISH + " час раньше момента публикации";
         }
+        return null;
+    }
+
+    private String checkStateForAdmin(EventState state, StateAction stateAction) {
+        if (stateAction == StateAction.PUBLISH_EVENT && state != EventState.PENDING) {
+            return "Не удается опубликовать незавершенное событие";
+        }
+        if (stateAction == StateAction.REJECT_EVENT && state == EventState.PUBLISHED) {
+            return "Невозможно отклонить уже опубликованное событие";
+        }
+        return null;
     }
 
     private void validateUser(User user, User initiator) {
@@ -381,7 +627,8 @@ public class EventServiceImpl implements EventService {
         }
     }
 
-    private void sendStats(HttpServletRequest request) {
+    @Override
+    public void sendStats(HttpServletRequest request) {
         try {
             statClient.create(request);
         } catch (Exception e) {
@@ -390,41 +637,32 @@ public class EventServiceImpl implements EventService {
         }
     }
 
-    private Long getViews(Long eventId, LocalDateTime createdOn, HttpServletRequest request) {
+    private List<EventFullDto> withViews(List<EventFullDto> events) {
+        Map<Long, Long> views = getViews(
+                events.stream().collect(Collectors.toMap(EventFullDto::getId, EventFullDto::getViews)),
+                events.stream().map(EventFullDto::getCreatedOn).min(Comparator.naturalOrder()).orElse(null));
+        events.forEach(event -> event.setViews(views.get(event.getId())));
+        return events;
+    }
+
+    // Колонка views обновляется фоновой синхронизацией, поэтому берётся максимум из неё и актуального значения
+    private Map<Long, Long> getViews(Map<Long, Long> storedViews, LocalDateTime start) {
+        Map<Long, Long> views = new HashMap<>(storedViews);
+        if (views.isEmpty()) {
+            return views;
+        }
+
         LocalDateTime end = LocalDateTime.now();
-        String uri = request.getRequestURI();
-        Boolean unique = true;
-        Long defaultViews = 0L;
+        List<String> uris = views.keySet().stream().map(EventMapper::toStatsUri).toList();
 
         try {
-            ResponseEntity<Object> statsResponse = statClient.getStats(createdOn, end, List.of(uri), unique);
-            log.info("Запрос к statClient: URI={}, from={}, to={}, unique={}", uri, createdOn, end, unique);
-            log.info("Ответ от statClient: status={}, body={}", statsResponse.getStatusCode(), statsResponse.getBody());
-            if (statsResponse.getStatusCode().is2xxSuccessful() && statsResponse.hasBody()) {
-                Object body = statsResponse.getBody();
-                if (body != null) {
-                    try {
-                        ViewStatsDto[] statsArray = mapper.convertValue(body, ViewStatsDto[].class);
-                        List<ViewStatsDto> stats = Arrays.asList(statsArray);
-
-                        if (!stats.isEmpty()) {
-                            return stats.getLast().getHits();
-                        } else {
-                            log.info("Нет данных статистики для события {}", eventId);
-                        }
-                    } catch (Exception e) {
-                        log.error("Ошибка преобразования данных статистики для события {}: {}", eventId, e.getMessage());
-                        return defaultViews;
-                    }
-                } else {
-                    log.warn("Тело ответа от statClient пустое для события {}", eventId);
-                }
-            } else {
-                log.warn("Неуспешный ответ от statClient для события {}: {}", eventId, statsResponse.getStatusCode());
-            }
+            log.info("Запрос к statClient: URIs={}, from={}, to={}, unique=true", uris, start, end);
+            Map<String, Long> hits = statClient.getHits(start, end, uris, true);
+            storedViews.keySet().forEach(eventId -> views.merge(eventId,
+                    hits.getOrDefault(EventMapper.toStatsUri(eventId), 0L), Math::max));
         } catch (Exception e) {
-            log.error("Ошибка при получении статистики для события {}: {}", eventId, e.getMessage());
+            log.error("Ошибка при получении статистики для событий {}: {}", uris, e.getMessage());
         }
-        return defaultViews;
+        return views;
     }
 }
\ No newline at end of file
@@ -0,0 +1,84 @@
+package ru.practicum.ewm.event.service;
+
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.ewm.enums.EventState;
+import ru.practicum.ewm.event.EventRepository;
+import ru.practicum.ewm.event.mapper.EventMapper;
+import ru.practicum.stat.StatisticsClient;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Component
+@Slf4j
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class EventViewsSynchronizer {
+
+    EventRepository eventRepository;
+    StatisticsClient statClient;
+    TransactionTemplate transactionTemplate;
+    int batchSize;
+
+    public EventViewsSynchronizer(EventRepository eventRepository, StatisticsClient statClient,
+                                  PlatformTransactionManager transactionManager,
+                                  @Value("${ewm.views.sync-batch-size:100}") int batchSize) {
+        this.eventRepository = eventRepository;
+        this.statClient = statClient;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(initialDelayString = "${ewm.views.sync-interval-ms:60000}",
+            fixedDelayString = "${ewm.views.sync-interval-ms:60000}")
+    public void synchronize() {
+        long afterId = 0L;
+        int updated = 0;
+        List<Object[]> batch;
+        do {
+            batch = eventRepository.findIdsForViewsSync(EventState.PUBLISHED, afterId, PageRequest.of(0, batchSize));
+            if (batch.isEmpty()) {
+                break;
+            }
+            updated += synchronize(batch);
+            afterId = (Long) batch.getLast()[0];
+        } while (batch.size() == batchSize);
+        log.info("Синхронизация просмотров завершена, обновлено событий: {}", updated);
+    }
+
+    private int synchronize(List<Object[]> batch) {
+        LocalDateTime start = batch.stream()
+                .map(row -> (LocalDateTime) row[1])
+                .min(Comparator.naturalOrder())
+                .orElseThrow();
+        List<String> uris = batch.stream().map(row -> EventMapper.toStatsUri((Long) row[0])).toList();
+
+        Map<String, Long> hits;
+        try {
+            hits = statClient.getHits(start, LocalDateTime.now(), uris, true);
+        } catch (Exception e) {
+            log.error("Ошибка при получении статистики для синхронизации просмотров: {}", e.getMessage());
+            return 0;
+        }
+
+        Map<Long, Long> views = new LinkedHashMap<>();
+        for (Object[] row : batch) {
+            Long eventViews = hits.get(EventMapper.toStatsUri((Long) row[0]));
+            if (eventViews != null && eventViews > 0) {
+                views.put((Long) row[0], eventViews);
+            }
+        }
+        // Транзакция на пачку: запрос к статистике выполняется до неё и не держит соединение с БД
+        return views.isEmpty() ? 0 : transactionTemplate.execute(status -> eventRepository.updateViews(views));
+    }
+}
@@ -0,0 +1,100 @@
+package ru.practicum.ewm.location;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Геохеш точки: строка, у которой общий префикс означает общую прямоугольную ячейку.
+ * Поиск в радиусе сводится к выборке по префиксам ячейки центра и восьми соседних.
+ */
+public final class GeoHash {
+
+    public static final int PRECISION = 9;
+
+    private static final String BASE32 = "0123456789bcdefghjkmnpqrstuvwxyz";
+    private static final double KM_PER_DEGREE = 111.32;
+
+    private GeoHash() {
+    }
+
+    public static String encode(double lat, double lon, int precision) {
+        double minLat = -90;
+        double maxLat = 90;
+        double minLon = -180;
+        double maxLon = 180;
+        StringBuilder hash = new StringBuilder(precision);
+        boolean evenBit = true;
+        int bit = 0;
+        int index = 0;
+        while (hash.length() < precision) {
+            if (evenBit) {
+                double mid = (minLon + maxLon) / 2;
+                if (lon >= mid) {
+                    index = index * 2 + 1;
+                    minLon = mid;
+                } else {
+                    index = index * 2;
+                    maxLon = mid;
+                }
+            } else {
+                double mid = (minLat + maxLat) / 2;
+                if (lat >= mid) {
+                    index = index * 2 + 1;
+                    minLat = mid;
+                } else {
+                    index = index * 2;
+                    maxLat = mid;
+                }
+            }
+            evenBit = !evenBit;
+            if (++bit == 5) {
+                hash.append(BASE32.charAt(index));
+                bit = 0;
+                index = 0;
+            }
+        }
+        return hash.toString();
+    }
+
+    // Пустой список означает, что радиус больше самой крупной ячейки и отбор по префиксу невозможен
+    public static List<String> coveringPrefixes(double lat, double lon, double radiusKm) {
+        double maxAbsLat = Math.min(90, Math.abs(lat) + radiusKm / KM_PER_DEGREE);
+        double kmPerLonDegree = KM_PER_DEGREE * Math.cos(Math.toRadians(maxAbsLat));
+        for (int precision = PRECISION; precision >= 1; precision--) {
+            double cellLat = cellHeight(precision);
+            double cellLon = cellWidth(precision);
+            if (cellLat * KM_PER_DEGREE < radiusKm || cellLon * kmPerLonDegree < radiusKm) {
+                continue;
+            }
+            Set<String> prefixes = new LinkedHashSet<>();
+            for (int dLat = -1; dLat <= 1; dLat++) {
+                for (int dLon = -1; dLon <= 1; dLon++) {
+                    double cellCenterLat = Math.max(-90, Math.min(90, lat + dLat * cellLat));
+                    prefixes.add(encode(cellCenterLat, wrapLon(lon + dLon * cellLon), precision));
+                }
+            }
+            return new ArrayList<>(prefixes);
+        }
+        return List.of();
+    }
+
+    private static double cellHeight(int precision) {
+        return 180 / Math.pow(2, Math.floor(precision * 5 / 2.0));
+    }
+
+    private static double cellWidth(int precision) {
+        return 360 / Math.pow(2, Math.ceil(precision * 5 / 2.0));
+    }
+
+    private static double wrapLon(double lon) {
+        if (lon >= 180) {
+            return lon - 360;
+        }
+        if (lon < -180) {
+            return lon + 360;
+        }
+        return lon;
+    }
+}
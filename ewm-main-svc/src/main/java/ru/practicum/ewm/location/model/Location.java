@@ -3,6 +3,7 @@ package ru.practicum.ewm.location.model;
 import jakarta.persistence.*;
 import lombok.*;
 import lombok.experimental.FieldDefaults;
+import ru.practicum.ewm.location.GeoHash;
 
 @Data
 @Entity
@@ -13,8 +14,16 @@ import lombok.experimental.FieldDefaults;
 @Builder
 public class Location {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "locations_seq")
+    @SequenceGenerator(name = "locations_seq", sequenceName = "locations_seq", allocationSize = 50)
     Long id;
     float lat;
     float lon;
+    String geohash;
+
+    @PrePersist
+    @PreUpdate
+    void updateGeohash() {
+        geohash = GeoHash.encode(lat, lon, GeoHash.PRECISION);
+    }
 }
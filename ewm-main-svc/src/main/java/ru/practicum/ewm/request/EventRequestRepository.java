@@ -1,27 +1,51 @@
 package ru.practicum.ewm.request;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
-import ru.practicum.ewm.event.model.Event;
+import ru.practicum.ewm.request.dto.ParticipationRequestDto;
+import ru.practicum.ewm.request.dto.RequestStatusView;
 import ru.practicum.ewm.request.model.EventRequest;
 import ru.practicum.ewm.enums.RequestStatus;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface EventRequestRepository extends JpaRepository<EventRequest, Long> {
 
     boolean existsByRequesterIdAndEventId(Long userId, Long eventId);
 
-    List<EventRequest> findByRequesterId(Long userId);
+    @Query("SELECT r.requester.id FROM EventRequest r WHERE r.event.id = :eventId AND r.requester.id IN :userIds")
+    List<Long> findRequesterIdsByEventId(@Param("eventId") Long eventId, @Param("userIds") Collection<Long> userIds);
 
-    long countByEventIdAndStatus(Long eventId, RequestStatus status);
+    @Query("SELECT new ru.practicum.ewm.request.dto.ParticipationRequestDto(r.created, r.event.id, r.id, r.requester.id, r.status) " +
+            "FROM EventRequest r WHERE r.requester.id = :userId AND r.id > :afterId ORDER BY r.id")
+    List<ParticipationRequestDto> findDtosByRequesterId(@Param("userId") Long userId, @Param("afterId") long afterId,
+                                                        Pageable pageable);
 
-    @Query("SELECT r.event.id, COUNT(r) FROM EventRequest r " +
-            "WHERE r.event.id IN :eventIds AND r.status = :status " +
-            "GROUP BY r.event.id")
-    List<Object[]> countByEventIdInAndStatus(@Param("eventIds") List<Long> eventIds, @Param("status") RequestStatus status);
+    @Query("SELECT new ru.practicum.ewm.request.dto.ParticipationRequestDto(r.created, r.event.id, r.id, r.requester.id, r.status) " +
+            "FROM EventRequest r WHERE r.event.id = :eventId AND r.id > :afterId ORDER BY r.id")
+    List<ParticipationRequestDto> findDtosByEventId(@Param("eventId") Long eventId, @Param("afterId") long afterId,
+                                                    Pageable pageable);
 
-    List<EventRequest> findByEvent(Event event);
+    @Query("SELECT new ru.practicum.ewm.request.dto.RequestStatusView(r.id, r.event.id, r.status) " +
+            "FROM EventRequest r WHERE r.id IN :ids ORDER BY r.id")
+    List<RequestStatusView> findStatusesByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("UPDATE EventRequest r SET r.status = :status " +
+            "WHERE r.id IN :ids AND r.status = ru.practicum.ewm.enums.RequestStatus.PENDING")
+    int updatePendingStatus(@Param("ids") Collection<Long> ids, @Param("status") RequestStatus status);
+
+    @Modifying
+    @Query("UPDATE EventRequest r SET r.status = ru.practicum.ewm.enums.RequestStatus.REJECTED " +
+            "WHERE r.event.id = :eventId AND r.status = ru.practicum.ewm.enums.RequestStatus.PENDING")
+    int rejectPendingByEventId(@Param("eventId") Long eventId);
+
+    @Query("SELECT new ru.practicum.ewm.request.dto.ParticipationRequestDto(r.created, r.event.id, r.id, r.requester.id, r.status) " +
+            "FROM EventRequest r WHERE r.id IN :ids ORDER BY r.id")
+    List<ParticipationRequestDto> findDtosByIdIn(@Param("ids") Collection<Long> ids);
 
 }
@@ -1,6 +1,7 @@
 package ru.practicum.ewm.request.controller;
 
 import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
@@ -8,6 +9,7 @@ import org.springframework.web.bind.annotation.*;
 import ru.practicum.ewm.request.dto.EventRequestStatusUpdateRequest;
 import ru.practicum.ewm.request.dto.EventRequestStatusUpdateResult;
 import ru.practicum.ewm.request.dto.ParticipationRequestDto;
+import ru.practicum.ewm.request.service.AdmissionGateway;
 import ru.practicum.ewm.request.service.EventRequestService;
 
 import java.util.List;
@@ -19,13 +21,14 @@ import java.util.List;
 public class EventRequestPrivateController {
 
     private final EventRequestService eventRequestService;
+    private final AdmissionGateway admissionGateway;
 
     @PostMapping("/requests")
     @ResponseStatus(HttpStatus.CREATED)
     public ParticipationRequestDto create(@PathVariable @Positive Long userId,
                                           @RequestParam @Positive Long eventId) {
         log.info("POST запрос /users/{}/requests?eventId={}", userId, eventId);
-        ParticipationRequestDto createdRequest = eventRequestService.create(userId, eventId);
+        ParticipationRequestDto createdRequest = admissionGateway.admit(userId, eventId);
         log.info("Создан запрос на участие: {}", createdRequest);
         return createdRequest;
     }
@@ -40,19 +43,26 @@ public class EventRequestPrivateController {
     }
 
     @GetMapping("/requests")
-    public List<ParticipationRequestDto> getParticipationRequests(@PathVariable @Positive Long userId) {
-        log.info("GET запрос /users/{}/requests", userId);
-        List<ParticipationRequestDto> requests = eventRequestService.getParticipationRequests(userId);
-        log.info("Получены запросы на участие: {}", requests);
+    public List<ParticipationRequestDto> getParticipationRequests(@PathVariable @Positive Long userId,
+                                                                  @RequestParam(required = false) @PositiveOrZero Integer from,
+                                                                  @RequestParam(required = false) @Positive Integer size,
+                                                                  @RequestParam(required = false) @Positive Long after) {
+        log.info("GET запрос /users/{}/requests?from={}&size={}&after={}", userId, from, size, after);
+        List<ParticipationRequestDto> requests = eventRequestService.getParticipationRequests(userId, from, size, after);
+        log.info("Получено запросов на участие: {}", requests.size());
         return requests;
     }
 
     @GetMapping("/events/{eventId}/requests")
     public List<ParticipationRequestDto> getParticipationRequestsForUserEvent(@PathVariable @Positive Long userId,
-                                                                              @PathVariable @Positive Long eventId) {
-        log.info("GET запрос /users/{}/events/{}/requests", userId, eventId);
-        List<ParticipationRequestDto> requests = eventRequestService.getParticipationRequestsForUserEvent(userId, eventId);
-        log.info("Получены запросы на участие в событии: {}", requests);
+                                                                              @PathVariable @Positive Long eventId,
+                                                                              @RequestParam(required = false) @PositiveOrZero Integer from,
+                                                                              @RequestParam(required = false) @Positive Integer size,
+                                                                              @RequestParam(required = false) @Positive Long after) {
+        log.info("GET запрос /users/{}/events/{}/requests?from={}&size={}&after={}", userId, eventId, from, size, after);
+        List<ParticipationRequestDto> requests = eventRequestService.getParticipationRequestsForUserEvent(userId, eventId,
+                from, size, after);
+        log.info("Получено запросов на участие в событии: {}", requests.size());
         return requests;
     }
 
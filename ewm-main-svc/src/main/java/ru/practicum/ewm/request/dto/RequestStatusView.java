@@ -0,0 +1,9 @@
+package ru.practicum.ewm.request.dto;
+
+import ru.practicum.ewm.enums.RequestStatus;
+
+/**
+ * Статус заявки и её событие для проверок перед сменой статуса.
+ */
+public record RequestStatusView(Long id, Long eventId, RequestStatus status) {
+}
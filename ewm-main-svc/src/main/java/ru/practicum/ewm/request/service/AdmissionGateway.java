@@ -0,0 +1,350 @@
+package ru.practicum.ewm.request.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.ewm.enums.EventState;
+import ru.practicum.ewm.enums.RequestStatus;
+import ru.practicum.ewm.event.EventRepository;
+import ru.practicum.ewm.event.dto.EventAdmission;
+import ru.practicum.ewm.event.model.Event;
+import ru.practicum.ewm.event.search.EventChangedEvent;
+import ru.practicum.ewm.exception.DuplicatedDataException;
+import ru.practicum.ewm.exception.NotFoundException;
+import ru.practicum.ewm.request.EventRequestRepository;
+import ru.practicum.ewm.request.dto.ParticipationRequestDto;
+import ru.practicum.ewm.request.mapper.EventRequestMapper;
+import ru.practicum.ewm.request.model.EventRequest;
+import ru.practicum.ewm.user.UserRepository;
+import ru.practicum.ewm.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Приём заявок на события с лимитом участников без модерации. Лимит и число подтверждённых заявок
+ * держатся в памяти: заявки на заполненное событие отклоняются без обращения к БД, а принятые
+ * сохраняются пачками одной транзакцией. Источник истины остаётся в БД — пачка проверяется под блокировкой
+ * строки события, после неё и по истечении refresh-ms счётчик перечитывается.
+ * Остальные заявки, а также все заявки при выключенном шлюзе, обрабатываются обычным путём.
+ * Запрос ждёт сохранения своей заявки не дольше await-timeout-ms.
+ */
+@Slf4j
+@Component
+public class AdmissionGateway {
+
+    private final EventRequestService eventRequestService;
+    private final EventRepository eventRepository;
+    private final EventRequestRepository eventRequestRepository;
+    private final UserRepository userRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final int batchSize;
+    private final long refreshMillis;
+    private final long awaitTimeoutMillis;
+
+    private final Map<Long, Seats> seats = new ConcurrentHashMap<>();
+    private final BlockingQueue<Admission> queue = new LinkedBlockingQueue<>();
+    private volatile boolean running;
+    private Thread writerThread;
+
+    public AdmissionGateway(EventRequestService eventRequestService, EventRepository eventRepository,
+                            EventRequestRepository eventRequestRepository, UserRepository userRepository,
+                            PlatformTransactionManager transactionManager,
+                            @Value("${ewm.admission.gateway.enabled:false}") boolean enabled,
+                            @Value("${ewm.admission.gateway.batch-size:100}") int batchSize,
+                            @Value("${ewm.admission.gateway.refresh-ms:1000}") long refreshMillis,
+                            @Value("${ewm.admission.gateway.await-timeout-ms:5000}") long awaitTimeoutMillis) {
+        this.eventRequestService = eventRequestService;
+        this.eventRepository = eventRepository;
+        this.eventRequestRepository = eventRequestRepository;
+        this.userRepository = userRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.refreshMillis = refreshMillis;
+        this.awaitTimeoutMillis = awaitTimeoutMillis;
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        running = true;
+        writerThread = Thread.ofPlatform().daemon().name("admission-writer").start(this::writeLoop);
+    }
+
+    public ParticipationRequestDto admit(Long userId, Long eventId) {
+        if (!running) {
+            return eventRequestService.create(userId, eventId);
+        }
+        Seats event = seats(eventId);
+        if (event == null || !event.limited()) {
+            return eventRequestService.create(userId, eventId);
+        }
+        if (event.isFull()) {
+            throw new DuplicatedDataException("Достигнут лимит участников.");
+        }
+        if (event.moderated()) {
+            return eventRequestService.create(userId, eventId);
+        }
+        if (!event.tryReserve()) {
+            throw new DuplicatedDataException("Достигнут лимит участников.");
+        }
+
+        Admission admission = new Admission(userId, eventId, event, new CompletableFuture<>());
+        queue.add(admission);
+        // Шлюз мог остановиться и разобрать очередь до добавления заявки
+        if (!running && queue.remove(admission)) {
+            event.release();
+            return eventRequestService.create(userId, eventId);
+        }
+        return await(admission);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEventChanged(EventChangedEvent changed) {
+        seats.remove(changed.eventId());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        try {
+            writerThread.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        List<Admission> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        remaining.forEach(admission -> admission.result()
+                .completeExceptionally(new IllegalStateException("Приём заявок остановлен")));
+    }
+
+    private ParticipationRequestDto await(Admission admission) {
+        try {
+            return admission.result().get(awaitTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            if (queue.remove(admission)) {
+                admission.event().release();
+                admission.result().cancel(false);
+                throw new IllegalStateException("Заявка не обработана за " + awaitTimeoutMillis
+                        + " мс, повторите запрос позже");
+            }
+            // Заявка уже сохраняется пачкой, её результат станет виден в списке заявок пользователя
+            throw new IllegalStateException("Заявка не обработана за " + awaitTimeoutMillis
+                    + " мс, проверьте список своих заявок");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Ожидание обработки заявки прервано");
+        }
+    }
+
+    private Seats seats(Long eventId) {
+        Seats cached = seats.get(eventId);
+        if (cached != null && System.currentTimeMillis() - cached.loadedAt() < refreshMillis) {
+            return cached;
+        }
+        return eventRepository.findAdmissionById(eventId)
+                .map(admission -> {
+                    Seats loaded = Seats.of(admission);
+                    seats.put(eventId, loaded);
+                    return loaded;
+                })
+                .orElse(null);
+    }
+
+    private void writeLoop() {
+        List<Admission> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                Admission first = queue.poll(500, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                write(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Throwable e) {
+                log.error("Ошибка при обработке пачки из {} заявок", batch.size(), e);
+                fail(batch, e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void write(List<Admission> batch) {
+        Map<Admission, Object> outcomes;
+        try {
+            outcomes = transactionTemplate.execute(status -> {
+                Map<Admission, Object> results = new HashMap<>();
+                batch.stream()
+                        .collect(Collectors.groupingBy(Admission::eventId, LinkedHashMap::new, Collectors.toList()))
+                        .forEach((eventId, admissions) -> results.putAll(writeEvent(eventId, admissions)));
+                return results;
+            });
+        } catch (RuntimeException e) {
+            log.warn("Не удалось сохранить пачку из {} заявок, заявки обрабатываются по одной: {}",
+                    batch.size(), e.getMessage());
+            batch.forEach(admission -> seats.remove(admission.eventId()));
+            for (Admission admission : batch) {
+                try {
+                    admission.result().complete(eventRequestService.create(admission.userId(), admission.eventId()));
+                } catch (RuntimeException failure) {
+                    admission.result().completeExceptionally(failure);
+                }
+            }
+            return;
+        }
+
+        for (Admission admission : batch) {
+            Object outcome = outcomes.get(admission);
+            if (outcome instanceof ParticipationRequestDto request) {
+                admission.result().complete(request);
+            } else {
+                admission.event().release();
+                admission.result().completeExceptionally(outcome instanceof RuntimeException failure
+                        ? failure
+                        : new IllegalStateException("Заявка не обработана"));
+            }
+        }
+    }
+
+    // Неизвестно, какие заявки пачки сохранились, поэтому счётчики её событий перечитываются из БД
+    private void fail(List<Admission> batch, Throwable cause) {
+        for (Admission admission : batch) {
+            seats.remove(admission.eventId());
+            admission.result().completeExceptionally(new IllegalStateException("Заявка не обработана", cause));
+        }
+    }
+
+    private Map<Admission, Object> writeEvent(Long eventId, List<Admission> admissions) {
+        Map<Admission, Object> results = new HashMap<>();
+        Event event = eventRepository.findByIdForUpdate(eventId).orElse(null);
+        if (event == null || event.getState() != EventState.PUBLISHED) {
+            RuntimeException failure = event == null
+                    ? new NotFoundException("Событие c ID " + eventId + " не найдено")
+                    : new DuplicatedDataException("Нельзя участвовать в неопубликованном событии.");
+            admissions.forEach(admission -> results.put(admission, failure));
+            return results;
+        }
+
+        Set<Long> userIds = admissions.stream().map(Admission::userId).collect(Collectors.toSet());
+        Map<Long, User> users = userRepository.findAllById(userIds).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+        Set<Long> requested = new HashSet<>(eventRequestRepository.findRequesterIdsByEventId(eventId, userIds));
+
+        int limit = event.getParticipantLimit();
+        long confirmed = event.getConfirmedRequests();
+        boolean autoConfirm = !event.getRequestModeration() || limit == 0;
+        LocalDateTime created = LocalDateTime.now();
+        Map<Admission, EventRequest> accepted = new LinkedHashMap<>();
+        for (Admission admission : admissions) {
+            Long userId = admission.userId();
+            if (!users.containsKey(userId)) {
+                results.put(admission, new NotFoundException("Пользователь c ID " + userId + " не найден"));
+            } else if (!requested.add(userId)) {
+                results.put(admission, new DuplicatedDataException("Пользователь уже подал заявку на это событие."));
+            } else if (event.getInitiator().getId().equals(userId)) {
+                results.put(admission, new DuplicatedDataException("Инициатор не может подавать заявку на своё событие."));
+            } else if (limit != 0 && confirmed >= limit) {
+                results.put(admission, new DuplicatedDataException("Достигнут лимит участников."));
+            } else {
+                RequestStatus status = autoConfirm ? RequestStatus.CONFIRMED : RequestStatus.PENDING;
+                accepted.put(admission, EventRequest.builder()
+                        .event(event)
+                        .requester(users.get(userId))
+                        .created(created)
+                        .status(status)
+                        .build());
+                if (status == RequestStatus.CONFIRMED) {
+                    confirmed++;
+                }
+            }
+        }
+
+        eventRequestRepository.saveAll(accepted.values());
+        long added = confirmed - event.getConfirmedRequests();
+        if (added > 0) {
+            eventRepository.addConfirmedRequests(eventId, added);
+        }
+        accepted.forEach((admission, request) -> results.put(admission, EventRequestMapper.toRequestDto(request)));
+
+        // Сверка с БД: резервы заявок, ещё стоящих в очереди, остаются в прежнем счётчике,
+        // поэтому новый может их недосчитать — такие заявки отклонит проверка под блокировкой
+        seats.put(eventId, new Seats(limit, event.getRequestModeration(), new AtomicLong(confirmed),
+                System.currentTimeMillis()));
+        log.debug("Пачка заявок на событие {}: принято {}, отклонено {}", eventId, accepted.size(),
+                admissions.size() - accepted.size());
+        return results;
+    }
+
+    private record Admission(Long userId, Long eventId, Seats event, CompletableFuture<ParticipationRequestDto> result) {
+    }
+
+    private record Seats(int limit, boolean moderated, AtomicLong confirmed, long loadedAt) {
+
+        static Seats of(EventAdmission admission) {
+            int limit = admission.getState() == EventState.PUBLISHED ? admission.getParticipantLimit() : 0;
+            return new Seats(limit, admission.getRequestModeration(),
+                    new AtomicLong(admission.getConfirmedRequests()), System.currentTimeMillis());
+        }
+
+        boolean limited() {
+            return limit != 0;
+        }
+
+        boolean isFull() {
+            return confirmed.get() >= limit;
+        }
+
+        boolean tryReserve() {
+            long current;
+            do {
+                current = confirmed.get();
+                if (current >= limit) {
+                    return false;
+                }
+            } while (!confirmed.compareAndSet(current, current + 1));
+            return true;
+        }
+
+        void release() {
+            confirmed.decrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package ru.practicum.ewm.request.service;
+
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.ewm.enums.RequestStatus;
+import ru.practicum.ewm.event.EventRepository;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class ConfirmedRequestsReconciler {
+
+    EventRepository eventRepository;
+
+    @Transactional
+    @Scheduled(initialDelayString = "${ewm.confirmed-requests.reconcile-interval-ms:300000}",
+            fixedDelayString = "${ewm.confirmed-requests.reconcile-interval-ms:300000}")
+    public void reconcile() {
+        int fixed = eventRepository.reconcileConfirmedRequests(RequestStatus.CONFIRMED);
+        if (fixed > 0) {
+            log.warn("Исправлено расхождение счётчика подтверждённых заявок у {} событий", fixed);
+        }
+    }
+}
@@ -12,9 +12,10 @@ public interface EventRequestService {
 
     ParticipationRequestDto cancelRequest(Long userId, Long requestId);
 
-    List<ParticipationRequestDto> getParticipationRequests(Long userId);
+    List<ParticipationRequestDto> getParticipationRequests(Long userId, Integer from, Integer size, Long after);
 
-    List<ParticipationRequestDto> getParticipationRequestsForUserEvent(Long userId, Long eventId);
+    List<ParticipationRequestDto> getParticipationRequestsForUserEvent(Long userId, Long eventId,
+                                                                       Integer from, Integer size, Long after);
 
     EventRequestStatusUpdateResult updateStatus(Long userId, Long eventId,
                                                 EventRequestStatusUpdateRequest dto);
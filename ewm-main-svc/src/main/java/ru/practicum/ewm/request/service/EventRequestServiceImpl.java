@@ -4,6 +4,8 @@ import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.ewm.event.EventRepository;
@@ -11,11 +13,13 @@ import ru.practicum.ewm.event.model.Event;
 import ru.practicum.ewm.exception.ConflictException;
 import ru.practicum.ewm.exception.DuplicatedDataException;
 import ru.practicum.ewm.exception.ForbiddenException;
+import ru.practicum.ewm.exception.IncorrectRequestException;
 import ru.practicum.ewm.exception.NotFoundException;
 import ru.practicum.ewm.request.EventRequestRepository;
 import ru.practicum.ewm.request.dto.EventRequestStatusUpdateRequest;
 import ru.practicum.ewm.request.dto.EventRequestStatusUpdateResult;
 import ru.practicum.ewm.request.dto.ParticipationRequestDto;
+import ru.practicum.ewm.request.dto.RequestStatusView;
 import ru.practicum.ewm.request.mapper.EventRequestMapper;
 import ru.practicum.ewm.request.model.EventRequest;
 import ru.practicum.ewm.user.UserRepository;
@@ -26,7 +30,6 @@ import ru.practicum.ewm.enums.RequestStatus;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -34,6 +37,8 @@ import java.util.stream.Collectors;
 @FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
 public class EventRequestServiceImpl implements EventRequestService {
 
+    static int DEFAULT_PAGE_SIZE = 10;
+
     UserRepository userRepository;
     EventRepository eventRepository;
     EventRequestRepository eventRequestRepository;
@@ -61,8 +66,7 @@ public class EventRequestServiceImpl implements EventRequestService {
             throw new DuplicatedDataException("Нельзя участвовать в неопубликованном событии.");
         }
 
-        if (event.getParticipantLimit() != 0 &&
-                eventRequestRepository.countByEventIdAndStatus(eventId, RequestStatus.CONFIRMED) >= event.getParticipantLimit()) {
+        if (event.getParticipantLimit() != 0 && event.getConfirmedRequests() >= event.getParticipantLimit()) {
             throw new DuplicatedDataException("Достигнут лимит участников.");
         }
 
@@ -76,6 +80,11 @@ public class EventRequestServiceImpl implements EventRequestService {
                 .status(status)
                 .build();
 
+        if (status == RequestStatus.CONFIRMED) {
+            if (eventRepository.admitConfirmedRequests(eventId, 1) == 0) {
+                throw new DuplicatedDataException("Достигнут лимит участников.");
+            }
+        }
         EventRequest savedRequest = eventRequestRepository.save(request);
         log.info("Создан запрос на участие с ID: {}", savedRequest.getId());
         return EventRequestMapper.toRequestDto(savedRequest);
@@ -96,38 +105,41 @@ public class EventRequestServiceImpl implements EventRequestService {
             throw new ForbiddenException("Можно отменить только собственный запрос.");
         }
 
+        if (request.getStatus() == RequestStatus.CONFIRMED) {
+            eventRepository.addConfirmedRequests(request.getEvent().getId(), -1);
+        }
         request.setStatus(RequestStatus.CANCELED);
         EventRequest savedRequest = eventRequestRepository.save(request);
         return EventRequestMapper.toRequestDto(savedRequest);
     }
 
     @Override
-    @Transactional
-    public List<ParticipationRequestDto> getParticipationRequests(Long userId) {
+    @Transactional(readOnly = true)
+    public List<ParticipationRequestDto> getParticipationRequests(Long userId, Integer from, Integer size, Long after) {
         log.info("Получение запросов пользователя: userId = {}", userId);
 
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new NotFoundException("Пользователь c ID " + userId + " не найден"));
 
-        return eventRequestRepository.findByRequesterId(userId).stream()
-                .map(EventRequestMapper::toRequestDto)
-                .collect(Collectors.toList());
+        return eventRequestRepository.findDtosByRequesterId(userId, after != null ? after : 0L,
+                toPageable(from, size, after));
     }
 
     @Override
-    @Transactional
-    public List<ParticipationRequestDto> getParticipationRequestsForUserEvent(Long userId, Long eventId) {
+    @Transactional(readOnly = true)
+    public List<ParticipationRequestDto> getParticipationRequestsForUserEvent(Long userId, Long eventId,
+                                                                              Integer from, Integer size, Long after) {
         log.info("Получение заявок на своё событие: userId = {}, eventId = {}", userId, eventId);
 
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new NotFoundException("Пользователь c ID " + userId + " не найден"));
 
-        Event event = eventRepository.findByIdAndInitiatorId(eventId, userId)
-                .orElseThrow(() -> new ForbiddenException("Пользователь не инициатор события."));
+        if (!eventRepository.existsByIdAndInitiatorId(eventId, userId)) {
+            throw new ForbiddenException("Пользователь не инициатор события.");
+        }
 
-        return eventRequestRepository.findByEvent(event).stream()
-                .map(EventRequestMapper::toRequestDto)
-                .collect(Collectors.toList());
+        return eventRequestRepository.findDtosByEventId(eventId, after != null ? after : 0L,
+                toPageable(from, size, after));
     }
 
     @Override
@@ -138,10 +150,11 @@ public class EventRequestServiceImpl implements EventRequestService {
 
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new NotFoundException("Пользователь c ID " + userId + " не найден"));
-        Event event = eventRepository.findById(eventId)
+        // Блокировка строки события упорядочивает подтверждения с параллельными заявками на это событие
+        Event event = eventRepository.findByIdForUpdate(eventId)
                 .orElseThrow(() -> new NotFoundException("Событие c ID " + eventId + " не найдено"));
 
-        List<EventRequest> requests = eventRequestRepository.findAllById(dto.getRequestIds());
+        List<RequestStatusView> requests = eventRequestRepository.findStatusesByIdIn(dto.getRequestIds());
         EventRequestStatusUpdateResult result = EventRequestStatusUpdateResult.builder()
                 .confirmedRequests(new ArrayList<>())
                 .rejectedRequests(new ArrayList<>())
@@ -151,45 +164,57 @@ public class EventRequestServiceImpl implements EventRequestService {
             return result;
         }
 
-        RequestStatus targetStatus = RequestStatus.valueOf(String.valueOf(dto.getStatus()));
+        for (RequestStatusView request : requests) {
+            if (!eventId.equals(request.eventId())) {
+                throw new NotFoundException("Запрос не относится к данному событию.");
+            }
+            if (request.status() != RequestStatus.PENDING) {
+                throw new ConflictException("Изменять можно только заявки в статусе PENDING.");
+            }
+        }
+        List<Long> requestIds = requests.stream().map(RequestStatusView::id).toList();
 
-        int limit = event.getParticipantLimit();
-        long confirmed = eventRequestRepository.countByEventIdAndStatus(event.getId(), RequestStatus.CONFIRMED);
+        RequestStatus targetStatus = RequestStatus.valueOf(String.valueOf(dto.getStatus()));
 
         if (targetStatus == RequestStatus.CONFIRMED) {
+            int limit = event.getParticipantLimit();
+            long confirmed = event.getConfirmedRequests();
             if (limit != 0 && confirmed >= limit) {
                 throw new ConflictException("Достигнут лимит участников.");
             }
 
-            for (EventRequest request : requests) {
-                if (!request.getEvent().getId().equals(eventId)) {
-                    throw new NotFoundException("Запрос не относится к данному событию.");
-                }
-                if (request.getStatus() != RequestStatus.PENDING) {
-                    throw new ConflictException("Изменять можно только заявки в статусе PENDING.");
-                }
-                request.setStatus(RequestStatus.CONFIRMED);
-                result.getConfirmedRequests().add(EventRequestMapper.toRequestDto(request));
-                confirmed++;
-                if (confirmed == limit) {
-                    break;
-                }
+            List<Long> toConfirm = limit == 0 ? requestIds
+                    : requestIds.subList(0, (int) Math.min(requestIds.size(), limit - confirmed));
+            int updated = eventRequestRepository.updatePendingStatus(toConfirm, RequestStatus.CONFIRMED);
+            if (updated > 0) {
+                eventRepository.addConfirmedRequests(eventId, updated);
             }
-
-        } else if (targetStatus == RequestStatus.REJECTED) {
-            for (EventRequest request : requests) {
-                if (!request.getEvent().getId().equals(eventId)) {
-                    throw new NotFoundException("Запрос не относится к данному событию.");
-                }
-                if (request.getStatus() != RequestStatus.PENDING) {
-                    throw new ConflictException("Изменять можно только заявки в статусе PENDING.");
-                }
-                request.setStatus(RequestStatus.REJECTED);
-                result.getRejectedRequests().add(EventRequestMapper.toRequestDto(request));
+            if (limit != 0 && confirmed + updated >= limit) {
+                int rejected = eventRequestRepository.rejectPendingByEventId(eventId);
+                log.info("Лимит участников события {} исчерпан, отклонено заявок: {}", eventId, rejected);
             }
+        } else if (targetStatus == RequestStatus.REJECTED) {
+            eventRequestRepository.updatePendingStatus(requestIds, RequestStatus.REJECTED);
         }
 
-        eventRequestRepository.saveAll(requests);
+        for (ParticipationRequestDto request : eventRequestRepository.findDtosByIdIn(requestIds)) {
+            if (request.getStatus() == RequestStatus.CONFIRMED) {
+                result.getConfirmedRequests().add(request);
+            } else if (request.getStatus() == RequestStatus.REJECTED) {
+                result.getRejectedRequests().add(request);
+            }
+        }
         return result;
     }
-}
\ No newline at end of file
+
+    // Без параметров возвращается весь список, after — id последней заявки предыдущей страницы
+    private Pageable toPageable(Integer from, Integer size, Long after) {
+        if (from != null && after != null) {
+            throw new IncorrectRequestException("Параметры from и after нельзя использовать вместе");
+        }
+        if (from == null && size == null && after == null) {
+            return Pageable.unpaged();
+        }
+        return PageRequest.of(from != null ? from : 0, size != null ? size : DEFAULT_PAGE_SIZE);
+    }
+}
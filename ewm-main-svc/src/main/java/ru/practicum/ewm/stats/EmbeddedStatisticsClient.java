@@ -0,0 +1,72 @@
+package ru.practicum.ewm.stats;
+
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.AccessLevel;
+import lombok.extern.slf4j.Slf4j;
+import lombok.experimental.FieldDefaults;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import ru.practicum.stat.EndpointHitCreateDto;
+import ru.practicum.stat.StatisticsClient;
+import ru.practicum.stat.ViewStatsDto;
+import ru.practicum.stat.dedup.HitDeduplicator;
+import ru.practicum.stat.service.StatisticsService;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "stats-server.mode", havingValue = "embedded")
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class EmbeddedStatisticsClient implements StatisticsClient {
+
+    StatisticsService statisticsService;
+    HitDeduplicator deduplicator;
+    String appName;
+
+    public EmbeddedStatisticsClient(StatisticsService statisticsService, HitDeduplicator deduplicator,
+                                    @Value("${app.name}") String appName) {
+        this.statisticsService = statisticsService;
+        this.deduplicator = deduplicator;
+        this.appName = appName;
+        log.info("Статистика собирается встроенным движком без обращения к stats-server");
+    }
+
+    @Override
+    public ResponseEntity<Object> create(HttpServletRequest request) {
+        if (!deduplicator.shouldSend(request.getRemoteAddr(), request.getRequestURI())) {
+            return ResponseEntity.noContent().build();
+        }
+        EndpointHitCreateDto endpointHitCreateDto = EndpointHitCreateDto.builder()
+                .app(appName)
+                .uri(request.getRequestURI())
+                .ip(request.getRemoteAddr())
+                .timestamp(LocalDateTime.now())
+                .build();
+        return ResponseEntity.status(HttpStatus.CREATED).body(statisticsService.create(endpointHitCreateDto));
+    }
+
+    @Override
+    public ResponseEntity<Object> getStats(LocalDateTime start, LocalDateTime end, List<String> uris, Boolean unique) {
+        return ResponseEntity.ok(statisticsService.getStats(start, end, uris, unique));
+    }
+
+    @Override
+    public List<ViewStatsDto> getViewStats(LocalDateTime start, LocalDateTime end, List<String> uris, Boolean unique) {
+        return statisticsService.getStats(start, end, uris, unique);
+    }
+
+    @Override
+    public Map<String, Long> getHits(LocalDateTime start, LocalDateTime end, List<String> uris, Boolean unique) {
+        Map<String, Long> hits = new HashMap<>();
+        statisticsService.getStats(start, end, uris, unique)
+                .forEach(stats -> hits.put(stats.getUri(), stats.getHits()));
+        return hits;
+    }
+}
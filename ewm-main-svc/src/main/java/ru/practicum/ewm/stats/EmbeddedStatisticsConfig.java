@@ -0,0 +1,19 @@
+package ru.practicum.ewm.stats;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import ru.practicum.ewm.MainApp;
+import ru.practicum.stat.EndpointHitRepository;
+import ru.practicum.stat.model.EndpointHit;
+import ru.practicum.stat.service.StatisticsServiceImpl;
+
+@Configuration
+@ConditionalOnProperty(name = "stats-server.mode", havingValue = "embedded")
+@EntityScan(basePackageClasses = {MainApp.class, EndpointHit.class})
+@EnableJpaRepositories(basePackageClasses = {MainApp.class, EndpointHitRepository.class})
+@Import(StatisticsServiceImpl.class)
+public class EmbeddedStatisticsConfig {
+}
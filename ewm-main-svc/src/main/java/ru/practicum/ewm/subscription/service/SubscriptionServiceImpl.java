@@ -11,8 +11,8 @@ import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.ewm.enums.FriendshipsStatus;
 import ru.practicum.ewm.event.EventRepository;
 import ru.practicum.ewm.event.dto.EventShortDto;
+import ru.practicum.ewm.event.dto.EventShortView;
 import ru.practicum.ewm.event.mapper.EventMapper;
-import ru.practicum.ewm.event.model.Event;
 import ru.practicum.ewm.exception.ConflictException;
 import ru.practicum.ewm.exception.NotFoundException;
 import ru.practicum.ewm.subscription.SubscriptionRepository;
@@ -92,7 +92,7 @@ public class SubscriptionServiceImpl implements SubscriptionService {
                 .collect(Collectors.toList());
 
         PageRequest pageRequest = PageRequest.of(from / size, size, Sort.by("eventDate").descending());
-        List<Event> events = eventRepository.findByInitiatorIdIn(ownerIds, pageRequest);
+        List<EventShortView> events = eventRepository.findShortViewsByInitiatorIdIn(ownerIds, pageRequest);
 
         return events.stream()
                 .map(EventMapper::toEventShortDto)
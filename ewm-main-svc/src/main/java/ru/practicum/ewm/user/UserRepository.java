@@ -1,7 +1,10 @@
 package ru.practicum.ewm.user;
 
 import org.springframework.data.domain.Pageable;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import ru.practicum.ewm.user.model.User;
 
 import java.util.Collection;
@@ -9,6 +12,7 @@ import java.util.List;
 
 public interface UserRepository extends JpaRepository<User, Long> {
 
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
     boolean existsByEmail(String email);
 
     List<User> findByIdIn(Collection<Long> ids, Pageable pageable);
@@ -3,6 +3,8 @@ package ru.practicum.ewm.user.model;
 import jakarta.persistence.*;
 import lombok.*;
 import lombok.experimental.FieldDefaults;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @FieldDefaults(level = AccessLevel.PRIVATE)
 @Data
@@ -11,6 +13,8 @@ import lombok.experimental.FieldDefaults;
 @Builder
 @Entity
 @Table(name = "users")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class User {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
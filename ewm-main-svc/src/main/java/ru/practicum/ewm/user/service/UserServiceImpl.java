@@ -8,6 +8,7 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.ewm.common.ContentVersions;
 import ru.practicum.ewm.exception.DuplicatedDataException;
 import ru.practicum.ewm.user.UserRepository;
 import ru.practicum.ewm.user.dto.NewUserRequest;
@@ -25,6 +26,7 @@ import java.util.stream.Collectors;
 public class UserServiceImpl implements UserService {
 
     UserRepository userRepository;
+    ContentVersions contentVersions;
 
     @Override
     @Transactional
@@ -42,6 +44,8 @@ public class UserServiceImpl implements UserService {
     @Transactional
     public void delete(Long id) {
         userRepository.deleteById(id);
+        // События пользователя удаляются каскадом в БД и не оставляют отметки в events.updated_on
+        contentVersions.changed(ContentVersions.Resource.EVENTS);
     }
 
     @Transactional(readOnly = true)
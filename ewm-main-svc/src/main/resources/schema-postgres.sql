@@ -0,0 +1,4 @@
+CREATE INDEX IF NOT EXISTS idx_events_full_text ON events
+    USING GIN (to_tsvector('russian', coalesce(title, '') || ' ' || coalesce(annotation, '') || ' ' || coalesce(description, '')));
+
+CREATE INDEX IF NOT EXISTS idx_locations_geohash_prefix ON locations (geohash varchar_pattern_ops);
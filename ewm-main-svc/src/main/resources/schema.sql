@@ -5,6 +5,15 @@ DROP TABLE IF EXISTS events CASCADE;
 DROP TABLE IF EXISTS compilations CASCADE;
 DROP TABLE IF EXISTS compilations_events CASCADE;
 DROP TABLE IF EXISTS requests CASCADE;
+DROP TABLE IF EXISTS endpoint CASCADE;
+DROP TABLE IF EXISTS content_versions CASCADE;
+DROP SEQUENCE IF EXISTS locations_seq;
+DROP SEQUENCE IF EXISTS events_seq;
+DROP SEQUENCE IF EXISTS requests_seq;
+
+CREATE SEQUENCE IF NOT EXISTS locations_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS events_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS requests_seq START WITH 1 INCREMENT BY 50;
 
 CREATE TABLE IF NOT EXISTS users(
     id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
@@ -19,13 +28,16 @@ CREATE TABLE IF NOT EXISTS categories(
 );
 
 CREATE TABLE IF NOT EXISTS locations (
-    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    id BIGINT PRIMARY KEY,
     lat DOUBLE PRECISION NOT NULL,
-    lon DOUBLE PRECISION NOT NULL
+    lon DOUBLE PRECISION NOT NULL,
+    geohash VARCHAR(12)
 );
 
+CREATE INDEX IF NOT EXISTS idx_locations_geohash ON locations (geohash);
+
 CREATE TABLE IF NOT EXISTS events (
-    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    id BIGINT PRIMARY KEY,
     location_id BIGINT NOT NULL,
     initiator_id BIGINT NOT NULL,
     category_id BIGINT NOT NULL,
@@ -39,11 +51,21 @@ CREATE TABLE IF NOT EXISTS events (
     state VARCHAR(50) NOT NULL,
     created_on TIMESTAMP WITHOUT TIME ZONE NOT NULL,
     published_on TIMESTAMP WITHOUT TIME ZONE,
+    confirmed_requests BIGINT NOT NULL DEFAULT 0,
+    views BIGINT NOT NULL DEFAULT 0,
+    updated_on TIMESTAMP WITHOUT TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
     FOREIGN KEY (location_id) REFERENCES locations(id) ON DELETE CASCADE,
     FOREIGN KEY (initiator_id) REFERENCES users(id) ON DELETE CASCADE,
     FOREIGN KEY (category_id) REFERENCES categories(id) ON DELETE CASCADE
 );
 
+CREATE INDEX IF NOT EXISTS idx_events_event_date ON events (event_date);
+CREATE INDEX IF NOT EXISTS idx_events_views ON events (views);
+CREATE INDEX IF NOT EXISTS idx_events_location_id ON events (location_id);
+CREATE INDEX IF NOT EXISTS idx_events_state_event_date ON events (state, event_date);
+CREATE INDEX IF NOT EXISTS idx_events_initiator_event_date ON events (initiator_id, event_date);
+CREATE INDEX IF NOT EXISTS idx_events_category_id ON events (category_id);
+CREATE INDEX IF NOT EXISTS idx_events_updated_on ON events (updated_on);
 
 CREATE TABLE IF NOT EXISTS compilations (
     id BIGINT GENERATED ALWAYS AS IDENTITY PRIMARY KEY UNIQUE,
@@ -57,8 +79,10 @@ CREATE TABLE IF NOT EXISTS compilations_event(
     PRIMARY KEY (compilation_id, event_id)
 );
 
+CREATE INDEX IF NOT EXISTS idx_compilations_event_event_id ON compilations_event (event_id);
+
 CREATE TABLE IF NOT EXISTS requests (
-    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    id BIGINT PRIMARY KEY,
     event_id BIGINT NOT NULL,
     requester_id BIGINT NOT NULL,
     status VARCHAR(50) NOT NULL,
@@ -68,6 +92,9 @@ CREATE TABLE IF NOT EXISTS requests (
     CONSTRAINT unique_request UNIQUE (event_id, requester_id)
 );
 
+CREATE INDEX IF NOT EXISTS idx_requests_event_status ON requests (event_id, status);
+CREATE INDEX IF NOT EXISTS idx_requests_requester_id ON requests (requester_id);
+
 CREATE TABLE IF NOT EXISTS subscriptions (
     id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
     follower_id BIGINT NOT NULL,
@@ -77,4 +104,28 @@ CREATE TABLE IF NOT EXISTS subscriptions (
     friendships_status VARCHAR(50) NOT NULL,
     FOREIGN KEY (follower_id) REFERENCES users(id),
     FOREIGN KEY (owner_id) REFERENCES users(id)
-);
\ No newline at end of file
+);
+
+CREATE INDEX IF NOT EXISTS idx_subscriptions_follower_owner ON subscriptions (follower_id, owner_id);
+CREATE INDEX IF NOT EXISTS idx_subscriptions_owner_status ON subscriptions (owner_id, friendships_status);
+
+CREATE TABLE IF NOT EXISTS endpoint(
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    app VARCHAR(255) NOT NULL,
+    uri VARCHAR(255) NOT NULL,
+    ip VARCHAR(15) NOT NULL,
+    created TIMESTAMP WITHOUT TIME ZONE NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_endpoint_uri_created ON endpoint (uri, created);
+
+CREATE TABLE IF NOT EXISTS content_versions (
+    resource VARCHAR(20) PRIMARY KEY,
+    version BIGINT NOT NULL,
+    updated_on TIMESTAMP WITHOUT TIME ZONE NOT NULL
+);
+
+INSERT INTO content_versions (resource, version, updated_on) VALUES
+    ('CATEGORIES', 0, CURRENT_TIMESTAMP),
+    ('COMPILATIONS', 0, CURRENT_TIMESTAMP),
+    ('EVENTS', 0, CURRENT_TIMESTAMP);
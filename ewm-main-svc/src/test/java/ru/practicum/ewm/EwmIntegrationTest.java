@@ -0,0 +1,153 @@
+package ru.practicum.ewm;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+/**
+ * Основа интеграционных тестов: приложение на случайном порту с H2 в памяти и встроенной статистикой.
+ * База общая для всех тестов контекста, поэтому каждый тест создаёт собственные данные с уникальными именами.
+ */
+@Slf4j
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+public abstract class EwmIntegrationTest {
+
+    protected static final DateTimeFormatter DATE_TIME_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private static final AtomicLong SEQUENCE = new AtomicLong();
+    private static final HttpClient HTTP = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    protected JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    protected ObjectMapper objectMapper;
+
+    protected HttpResponse<String> send(String method, String path, Object body) {
+        return send(method, path, body, Map.of());
+    }
+
+    protected HttpResponse<String> send(String method, String path, Object body, Map<String, String> headers) {
+        try {
+            HttpRequest.BodyPublisher publisher = body == null
+                    ? HttpRequest.BodyPublishers.noBody()
+                    : HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(body));
+            // 127.0.0.1, а не localhost: IPv6-адрес клиента не помещается в колонку endpoint.ip
+            HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + port + path))
+                    .header("Content-Type", "application/json")
+                    .method(method, publisher);
+            headers.forEach(request::header);
+            return HTTP.send(request.build(), HttpResponse.BodyHandlers.ofString());
+        } catch (IOException e) {
+            throw new IllegalStateException("Запрос " + method + " " + path + " не выполнен", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Запрос " + method + " " + path + " прерван", e);
+        }
+    }
+
+    protected JsonNode sendForJson(String method, String path, Object body, int expectedStatus) {
+        HttpResponse<String> response = send(method, path, body);
+        if (response.statusCode() != expectedStatus) {
+            throw new AssertionError(method + " " + path + " вернул " + response.statusCode() + ": " + response.body());
+        }
+        try {
+            return objectMapper.readTree(response.body());
+        } catch (IOException e) {
+            throw new AssertionError("Некорректный JSON в ответе " + method + " " + path, e);
+        }
+    }
+
+    protected long createUser() {
+        long n = SEQUENCE.incrementAndGet();
+        return sendForJson("POST", "/admin/users",
+                Map.of("name", "User " + n, "email", "user" + n + "-" + System.nanoTime() + "@mail.ru"), 201)
+                .get("id").asLong();
+    }
+
+    // Тысячи участников создаются одной пачкой JDBC, через API это заняло бы большую часть теста
+    protected List<Long> createUsers(int count) {
+        String prefix = "bulk" + SEQUENCE.incrementAndGet() + "-" + System.nanoTime() + "-";
+        jdbcTemplate.batchUpdate("INSERT INTO users (name, email) VALUES (?, ?)",
+                IntStream.range(0, count)
+                        .mapToObj(i -> new Object[]{"Participant " + i, prefix + i + "@mail.ru"})
+                        .toList());
+        return jdbcTemplate.queryForList("SELECT id FROM users WHERE email LIKE ? ORDER BY id", Long.class,
+                prefix + "%");
+    }
+
+    protected long createCategory() {
+        return sendForJson("POST", "/admin/categories",
+                Map.of("name", "Category " + SEQUENCE.incrementAndGet() + "-" + System.nanoTime() % 100000), 201)
+                .get("id").asLong();
+    }
+
+    protected long createEvent(long initiatorId, long categoryId, int participantLimit, boolean requestModeration) {
+        Map<String, Object> event = Map.of(
+                "annotation", "Annotation of the test event, long enough",
+                "category", categoryId,
+                "description", "Description of the test event, long enough text",
+                "eventDate", LocalDateTime.now().plusDays(5).format(DATE_TIME_FORMAT),
+                "location", Map.of("lat", 55.75, "lon", 37.61),
+                "paid", false,
+                "participantLimit", participantLimit,
+                "requestModeration", requestModeration,
+                "title", "Event " + SEQUENCE.incrementAndGet());
+        return sendForJson("POST", "/users/" + initiatorId + "/events", event, 201).get("id").asLong();
+    }
+
+    protected long createPublishedEvent(long initiatorId, long categoryId, int participantLimit,
+                                        boolean requestModeration) {
+        long eventId = createEvent(initiatorId, categoryId, participantLimit, requestModeration);
+        sendForJson("PATCH", "/admin/events/" + eventId, Map.of("stateAction", "PUBLISH_EVENT"), 200);
+        return eventId;
+    }
+
+    // Все задачи стартуют одновременно по общему сигналу, каждая в своём виртуальном потоке
+    protected <T> List<T> runConcurrently(List<Callable<T>> tasks) throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        List<T> results = new ArrayList<>(tasks.size());
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<T>> futures = tasks.stream()
+                    .map(task -> executor.submit(() -> {
+                        start.await();
+                        return task.call();
+                    }))
+                    .toList();
+            start.countDown();
+            for (Future<T> future : futures) {
+                results.add(future.get());
+            }
+        }
+        return results;
+    }
+
+    protected static void report(String format, Object... args) {
+        log.info(format, args);
+    }
+}
@@ -0,0 +1,184 @@
+package ru.practicum.ewm;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Проверка индексов из schema.sql на синтетических данных в отдельной базе H2 без контекста Spring.
+ * Ни один запрос репозитория не должен читать таблицу целиком; время выполнения измеряется с индексом
+ * и после его удаления. H2 сам индексирует внешние ключи, поэтому для них план может выбрать
+ * CONSTRAINT_INDEX_*, а индекс из schema.sql нужен PostgreSQL. Объём данных задаётся -Dewm.benchmark.scale.
+ */
+@Slf4j
+class QueryIndexBenchmarkTest {
+
+    private static final int SCALE = Integer.getInteger("ewm.benchmark.scale", 1);
+    private static final int USERS = 5_000 * SCALE;
+    private static final int EVENTS = 20_000 * SCALE;
+    private static final int REQUESTS = 80_000 * SCALE;
+    private static final int SUBSCRIPTIONS = 20_000 * SCALE;
+    private static final int HITS = 100_000 * SCALE;
+    private static final int CATEGORIES = 50;
+    private static final int COMPILATIONS = 500;
+    private static final int WARM_UP = 200;
+    private static final int ITERATIONS = 200;
+    private static final Pattern CREATE_INDEX = Pattern.compile("(?m)^CREATE INDEX IF NOT EXISTS (\\w+) ON .+;$");
+    private static final Pattern PLAN_INDEX = Pattern.compile("/\\* PUBLIC\\.([\\w.]+)");
+
+    private static SingleConnectionDataSource dataSource;
+    private static JdbcTemplate jdbcTemplate;
+    private static Map<String, String> indexes;
+
+    @BeforeAll
+    static void seed() throws IOException {
+        // Без OPTIMIZE_REUSE_RESULTS H2 не отдаёт повторный результат из кэша и каждый запуск выполняет запрос
+        dataSource = new SingleConnectionDataSource("jdbc:h2:mem:ewm-benchmark;OPTIMIZE_REUSE_RESULTS=FALSE",
+                "sa", "", true);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        ClassPathResource schema = new ClassPathResource("schema.sql");
+        new ResourceDatabasePopulator(schema).execute(dataSource);
+        Matcher matcher = CREATE_INDEX.matcher(schema.getContentAsString(StandardCharsets.UTF_8));
+        indexes = matcher.results().collect(Collectors.toMap(result -> result.group(1), result -> result.group()));
+
+        long startedAt = System.nanoTime();
+        jdbcTemplate.update("INSERT INTO users (id, name, email) "
+                + "SELECT X, 'User ' || X, 'user' || X || '@mail.ru' FROM SYSTEM_RANGE(1, " + USERS + ")");
+        // Последняя категория без событий: так выглядит проверка перед удалением категории
+        jdbcTemplate.update("INSERT INTO categories (id, name) "
+                + "SELECT X, 'Category ' || X FROM SYSTEM_RANGE(1, " + (CATEGORIES + 1) + ")");
+        jdbcTemplate.update("INSERT INTO locations (id, lat, lon, geohash) "
+                + "SELECT X, 55 + MOD(X, 1000) / 1000.0, 37 + MOD(X, 997) / 1000.0, "
+                + "'ucf' || LPAD(CAST(MOD(X * 7919, 100000) AS VARCHAR), 5, '0') "
+                + "FROM SYSTEM_RANGE(1, " + EVENTS + ")");
+        jdbcTemplate.update("INSERT INTO events (id, location_id, initiator_id, category_id, title, annotation, "
+                + "description, event_date, participant_limit, request_moderation, state, created_on, updated_on) "
+                + "SELECT X, X, MOD(X, " + USERS + ") + 1, MOD(X, " + CATEGORIES + ") + 1, 'Event ' || X, "
+                + "'Annotation ' || X, 'Description ' || X, "
+                + "DATEADD('MINUTE', MOD(X * 37, 525600) - 262800, LOCALTIMESTAMP), MOD(X, 5) * 10, MOD(X, 2) = 0, "
+                + "CASE MOD(X, 10) WHEN 0 THEN 'PENDING' WHEN 1 THEN 'CANCELED' ELSE 'PUBLISHED' END, "
+                + "DATEADD('DAY', -30, LOCALTIMESTAMP), DATEADD('SECOND', -X, LOCALTIMESTAMP) "
+                + "FROM SYSTEM_RANGE(1, " + EVENTS + ")");
+        jdbcTemplate.update("INSERT INTO requests (id, event_id, requester_id, status, created) "
+                + "SELECT X, MOD(X, " + EVENTS + ") + 1, MOD(X / " + EVENTS + " + MOD(X, " + EVENTS + ") * 4, " + USERS + ") + 1, "
+                + "CASE MOD(X, 4) WHEN 0 THEN 'PENDING' WHEN 1 THEN 'REJECTED' ELSE 'CONFIRMED' END, LOCALTIMESTAMP "
+                + "FROM SYSTEM_RANGE(1, " + REQUESTS + ")");
+        jdbcTemplate.update("INSERT INTO subscriptions (follower_id, owner_id, subscribe_time, friendships_status) "
+                + "SELECT MOD(X, " + USERS + ") + 1, MOD(X * 31, " + USERS + ") + 1, LOCALTIMESTAMP, "
+                + "CASE MOD(X, 3) WHEN 0 THEN 'NO_FRIENDSHIP' WHEN 1 THEN 'ONE_SIDED' ELSE 'MUTUAL' END "
+                + "FROM SYSTEM_RANGE(1, " + SUBSCRIPTIONS + ")");
+        jdbcTemplate.update("INSERT INTO compilations (pinned, title) "
+                + "SELECT MOD(X, 2) = 0, 'Compilation ' || X FROM SYSTEM_RANGE(1, " + COMPILATIONS + ")");
+        jdbcTemplate.update("INSERT INTO compilations_event (compilation_id, event_id) "
+                + "SELECT MOD(X, " + COMPILATIONS + ") + 1, X * 7 FROM SYSTEM_RANGE(1, " + EVENTS / 10 + ")");
+        jdbcTemplate.update("INSERT INTO endpoint (app, uri, ip, created) "
+                + "SELECT 'ewm-main-service', '/events/' || (MOD(X, " + EVENTS + ") + 1), "
+                + "'10.0.' || MOD(X, 250) || '.' || MOD(X / 250, 250), DATEADD('SECOND', -X, LOCALTIMESTAMP) "
+                + "FROM SYSTEM_RANGE(1, " + HITS + ")");
+        jdbcTemplate.execute("ANALYZE");
+        log.info("Синтетические данные загружены за {} мс: событий {}, заявок {}, подписок {}, просмотров {}",
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt), EVENTS, REQUESTS, SUBSCRIPTIONS, HITS);
+    }
+
+    @AfterAll
+    static void shutdown() {
+        dataSource.destroy();
+    }
+
+    // Запросы повторяют условия и сортировку методов репозиториев, для которых заведены индексы
+    static List<QueryCase> queries() {
+        LocalDateTime now = LocalDateTime.now();
+        return List.of(
+                new QueryCase("EventServiceImpl.findAllByPublic", "idx_events_state_event_date",
+                        "SELECT id FROM events WHERE state = 'PUBLISHED' AND event_date > ? ORDER BY event_date LIMIT 10",
+                        now),
+                new QueryCase("EventRepository.findShortViewsByInitiatorId", "idx_events_initiator_event_date",
+                        "SELECT id, title FROM events WHERE initiator_id = ? LIMIT 10", 42),
+                new QueryCase("EventRepository.findShortViewsByInitiatorIdIn", "idx_events_initiator_event_date",
+                        "SELECT id, title FROM events WHERE initiator_id IN (?, ?, ?) ORDER BY event_date DESC LIMIT 10",
+                        42, 43, 44),
+                new QueryCase("EventRepository.existsByCategoryId", "idx_events_category_id",
+                        "SELECT id FROM events WHERE category_id = ? LIMIT 1", CATEGORIES + 1),
+                new QueryCase("EventRepository.findLastUpdatedOn", "idx_events_updated_on",
+                        "SELECT MAX(updated_on) FROM events"),
+                new QueryCase("EventRequestRepository.rejectPendingByEventId", "idx_requests_event_status",
+                        "SELECT id FROM requests WHERE event_id = ? AND status = 'PENDING'", 42),
+                new QueryCase("EventRequestRepository.findDtosByRequesterId", "idx_requests_requester_id",
+                        "SELECT id, event_id, status, created FROM requests WHERE requester_id = ? AND id > ? "
+                                + "ORDER BY id LIMIT 10", 3, 0),
+                new QueryCase("SubscriptionRepository.findByFollower", "idx_subscriptions_follower_owner",
+                        "SELECT id, owner_id FROM subscriptions WHERE follower_id = ?", 42),
+                new QueryCase("SubscriptionRepository.countByOwnerAndFriendshipsStatusIn", "idx_subscriptions_owner_status",
+                        "SELECT COUNT(*) FROM subscriptions WHERE owner_id = ? AND friendships_status IN ('ONE_SIDED', 'MUTUAL')",
+                        42),
+                new QueryCase("Удаление события из подборок", "idx_compilations_event_event_id",
+                        "SELECT compilation_id FROM compilations_event WHERE event_id = ?", 70),
+                new QueryCase("EndpointHitRepository.findStats", "idx_endpoint_uri_created",
+                        "SELECT app, uri, COUNT(ip) FROM endpoint WHERE created BETWEEN ? AND ? AND uri IN (?, ?) "
+                                + "GROUP BY app, uri ORDER BY COUNT(ip) DESC",
+                        now.minusDays(30), now, "/events/42", "/events/43"),
+                new QueryCase("EventServiceImpl.findAllByPublic с фильтром по месту", "idx_locations_geohash",
+                        "SELECT id FROM locations WHERE geohash LIKE ?", "ucf001%"));
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("queries")
+    void repositoryQueryUsesIndex(QueryCase query) {
+        assertThat(indexes).containsKey(query.index());
+        String plan = jdbcTemplate.queryForObject("EXPLAIN " + query.sql(), String.class, query.args());
+        assertThat(plan).as(plan).doesNotContainIgnoringCase("tableScan");
+
+        double indexedMicros = measure(query);
+        jdbcTemplate.execute("DROP INDEX " + query.index());
+        double scanMicros;
+        String scanPlan;
+        try {
+            scanPlan = jdbcTemplate.queryForObject("EXPLAIN " + query.sql(), String.class, query.args());
+            scanMicros = measure(query);
+        } finally {
+            jdbcTemplate.execute(indexes.get(query.index()));
+        }
+        log.info("{}: {} мкс по {}, {} мкс без {} по {}", query.method(), String.format("%.1f", indexedMicros),
+                planIndex(plan), String.format("%.1f", scanMicros), query.index(), planIndex(scanPlan));
+    }
+
+    private static String planIndex(String plan) {
+        return PLAN_INDEX.matcher(plan).results().map(result -> result.group(1)).findFirst().orElse("-");
+    }
+
+    private static double measure(QueryCase query) {
+        for (int i = 0; i < WARM_UP; i++) {
+            jdbcTemplate.queryForList(query.sql(), query.args());
+        }
+        long startedAt = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            jdbcTemplate.queryForList(query.sql(), query.args());
+        }
+        return (System.nanoTime() - startedAt) / 1_000.0 / ITERATIONS;
+    }
+
+    record QueryCase(String method, String index, String sql, Object... args) {
+        @Override
+        public String toString() {
+            return method;
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package ru.practicum.ewm.common;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import ru.practicum.ewm.EwmIntegrationTest;
+import ru.practicum.ewm.event.service.EventViewsSynchronizer;
+
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * ETag публичных эндпоинтов вычисляется по данным БД. Изменения, сделанные в обход этого экземпляра
+ * сервиса (здесь — напрямую через JDBC), должны менять ETag так же, как изменения через API.
+ */
+class ConditionalGetTest extends EwmIntegrationTest {
+
+    @Autowired
+    private EventViewsSynchronizer eventViewsSynchronizer;
+
+    @Test
+    void eventNotModifiedUntilRowChangesAndHitIsStillRecorded() {
+        long eventId = createPublishedEvent(createUser(), createCategory(), 0, false);
+        String path = "/events/" + eventId;
+
+        HttpResponse<String> first = send("GET", path, null);
+        assertThat(first.statusCode()).isEqualTo(200);
+        String etag = first.headers().firstValue("ETag").orElseThrow();
+
+        HttpResponse<String> cached = send("GET", path, null, Map.of("If-None-Match", etag));
+        assertThat(cached.statusCode()).isEqualTo(304);
+        assertThat(hits(path)).isEqualTo(2);
+
+        jdbcTemplate.update("UPDATE events SET title = 'Changed elsewhere', updated_on = DATEADD('SECOND', 1, updated_on) WHERE id = ?",
+                eventId);
+        HttpResponse<String> changed = send("GET", path, null, Map.of("If-None-Match", etag));
+        assertThat(changed.statusCode()).isEqualTo(200);
+        assertThat(changed.headers().firstValue("ETag")).isPresent().get().isNotEqualTo(etag);
+    }
+
+    @Test
+    void categoryVersionIsSharedThroughDatabase() {
+        createPublishedEvent(createUser(), createCategory(), 0, false);
+        List<String> paths = List.of("/categories", "/events", "/compilations");
+        Map<String, String> before = etags(paths);
+        assertThat(send("GET", "/events", null, Map.of("If-None-Match", before.get("/events"))).statusCode())
+                .isEqualTo(304);
+
+        jdbcTemplate.update("UPDATE content_versions SET version = version + 1 WHERE resource = 'CATEGORIES'");
+
+        Map<String, String> after = etags(paths);
+        paths.forEach(path -> assertThat(after.get(path)).as(path).isNotEqualTo(before.get(path)));
+    }
+
+    @Test
+    void viewsSyncWithoutNewHitsKeepsCompilationsEtag() {
+        long eventId = createPublishedEvent(createUser(), createCategory(), 0, false);
+        sendForJson("POST", "/admin/compilations",
+                Map.of("title", "Compilation " + eventId, "pinned", false, "events", List.of(eventId)), 201);
+        send("GET", "/events/" + eventId, null);
+
+        eventViewsSynchronizer.synchronize();
+        String synced = etags(List.of("/compilations")).get("/compilations");
+        eventViewsSynchronizer.synchronize();
+
+        assertThat(etags(List.of("/compilations")).get("/compilations")).isEqualTo(synced);
+    }
+
+    private Map<String, String> etags(List<String> paths) {
+        return paths.stream().collect(Collectors.toMap(path -> path,
+                path -> send("GET", path, null).headers().firstValue("ETag").orElseThrow()));
+    }
+
+    private long hits(String uri) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM endpoint WHERE uri = ?", Long.class, uri);
+    }
+}
@@ -0,0 +1,117 @@
+package ru.practicum.ewm.event;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.junit.jupiter.api.Test;
+import ru.practicum.ewm.EwmIntegrationTest;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * Массовая смена состояния событий PATCH /admin/events/bulk: пропускная способность на тысяче событий
+ * в сравнении с поштучными PATCH /admin/events/{id} и результат по каждому id для смешанного набора.
+ */
+class EventBulkStateUpdateTest extends EwmIntegrationTest {
+
+    private static final int BULK_EVENTS = 1_000;
+    private static final int SINGLE_EVENTS = 100;
+    private static final long MISSING_EVENT_ID = Long.MAX_VALUE;
+
+    @Test
+    void bulkPublishOfThousandEvents() throws Exception {
+        long initiatorId = createUser();
+        long categoryId = createCategory();
+        List<Long> bulkIds = createPendingEvents(initiatorId, categoryId, BULK_EVENTS);
+        List<Long> singleIds = createPendingEvents(initiatorId, categoryId, SINGLE_EVENTS);
+
+        long startedAt = System.nanoTime();
+        JsonNode results = bulk(bulkIds, "PUBLISH_EVENT");
+        long bulkMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+
+        startedAt = System.nanoTime();
+        for (Long eventId : singleIds) {
+            sendForJson("PATCH", "/admin/events/" + eventId, Map.of("stateAction", "PUBLISH_EVENT"), 200);
+        }
+        long singleMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+
+        report("Массовая публикация {} событий за {} мс ({} событий/с), поштучная публикация {} событий за {} мс ({} событий/с)",
+                BULK_EVENTS, bulkMillis, BULK_EVENTS * 1000L / Math.max(bulkMillis, 1),
+                SINGLE_EVENTS, singleMillis, SINGLE_EVENTS * 1000L / Math.max(singleMillis, 1));
+        assertThat(results).hasSize(BULK_EVENTS);
+        assertThat(results).allSatisfy(result -> {
+            assertThat(result.get("status").asText()).isEqualTo("UPDATED");
+            assertThat(result.get("state").asText()).isEqualTo("PUBLISHED");
+        });
+        assertThat(countPublished(bulkIds)).isEqualTo(BULK_EVENTS);
+        assertThat(countPublished(singleIds)).isEqualTo(SINGLE_EVENTS);
+    }
+
+    @Test
+    void mixedInputReturnsResultPerEvent() throws Exception {
+        long initiatorId = createUser();
+        long categoryId = createCategory();
+        List<Long> pending = createPendingEvents(initiatorId, categoryId, 4);
+        long published = createPublishedEvent(initiatorId, categoryId, 0, false);
+        long canceled = createEvent(initiatorId, categoryId, 0, false);
+        sendForJson("PATCH", "/admin/events/" + canceled, Map.of("stateAction", "REJECT_EVENT"), 200);
+        long startsSoon = pending.get(3);
+        jdbcTemplate.update("UPDATE events SET event_date = ? WHERE id = ?",
+                LocalDateTime.now().plusMinutes(30), startsSoon);
+
+        JsonNode publish = bulk(List.of(pending.get(0), published, MISSING_EVENT_ID, canceled, pending.get(1),
+                pending.get(0), startsSoon), "PUBLISH_EVENT");
+
+        assertThat(publish).extracting(result -> result.get("eventId").asLong(), result -> result.get("status").asText(),
+                        result -> result.path("state").asText(null), result -> result.path("message").asText(null))
+                .containsExactly(
+                        tuple(pending.get(0), "UPDATED", "PUBLISHED", null),
+                        tuple(published, "CONFLICT", "PUBLISHED", "Не удается опубликовать незавершенное событие"),
+                        tuple(MISSING_EVENT_ID, "NOT_FOUND", null, "Событие с ID = " + MISSING_EVENT_ID + " не найдено"),
+                        tuple(canceled, "CONFLICT", "CANCELED", "Не удается опубликовать незавершенное событие"),
+                        tuple(pending.get(1), "UPDATED", "PUBLISHED", null),
+                        tuple(startsSoon, "CONFLICT", "PENDING", "Дата мероприятия должна быть на 2часа раньше текущего момента"));
+
+        JsonNode reject = bulk(List.of(pending.get(2), pending.get(0), MISSING_EVENT_ID), "REJECT_EVENT");
+
+        assertThat(reject).extracting(result -> result.get("eventId").asLong(), result -> result.get("status").asText(),
+                        result -> result.path("state").asText(null))
+                .containsExactly(
+                        tuple(pending.get(2), "UPDATED", "CANCELED"),
+                        tuple(pending.get(0), "CONFLICT", "PUBLISHED"),
+                        tuple(MISSING_EVENT_ID, "NOT_FOUND", null));
+        assertThat(states(List.of(pending.get(0), pending.get(1), pending.get(2), startsSoon, canceled)))
+                .containsExactly("PUBLISHED", "PUBLISHED", "CANCELED", "PENDING", "CANCELED");
+    }
+
+    private JsonNode bulk(List<Long> eventIds, String stateAction) {
+        return sendForJson("PATCH", "/admin/events/bulk",
+                Map.of("eventIds", eventIds, "stateAction", stateAction), 200);
+    }
+
+    private List<Long> createPendingEvents(long initiatorId, long categoryId, int count) throws Exception {
+        List<Callable<Long>> tasks = new ArrayList<>(count);
+        IntStream.range(0, count).forEach(i -> tasks.add(() -> createEvent(initiatorId, categoryId, 0, false)));
+        return runConcurrently(tasks);
+    }
+
+    private long countPublished(List<Long> eventIds) {
+        String placeholders = String.join(", ", Collections.nCopies(eventIds.size(), "?"));
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM events WHERE state = 'PUBLISHED' AND id IN ("
+                + placeholders + ")", Long.class, eventIds.toArray());
+    }
+
+    private List<String> states(List<Long> eventIds) {
+        return eventIds.stream()
+                .map(eventId -> jdbcTemplate.queryForObject("SELECT state FROM events WHERE id = ?", String.class, eventId))
+                .toList();
+    }
+}
@@ -0,0 +1,104 @@
+package ru.practicum.ewm.event;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import ru.practicum.ewm.EwmIntegrationTest;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Число SQL-запросов списочных эндпоинтов не должно расти вместе с числом событий, инициаторов и подборок:
+ * связи загружаются графами сущностей, подборки — через default_batch_fetch_size.
+ */
+class EventListingStatementCountTest extends EwmIntegrationTest {
+
+    // /events и /events/scroll: версии, последнее изменение и последнее начавшееся событие для ETag, проекции,
+    // запись просмотра и чтение статистики; /admin/events, /admin/events/scroll и /users/{id}/events: выборка
+    // и чтение статистики; лента подписок: подписки и проекции; /compilations: версии и последнее изменение
+    // событий для ETag, подборки, события пачкой и места пачкой
+    private static final Map<String, Long> EXPECTED_STATEMENTS = Map.of(
+            "/events", 6L,
+            "/events/scroll", 6L,
+            "/admin/events", 2L,
+            "/admin/events/scroll", 2L,
+            "/users/{id}/events", 2L,
+            "/users/{id}/subscriptions/events", 2L,
+            "/compilations", 5L);
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private long categoryId;
+    private long followerId;
+    private final List<Long> initiatorIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        categoryId = createCategory();
+        followerId = createUser();
+    }
+
+    @Test
+    void listingStatementCountDoesNotGrowWithData() {
+        addInitiatorWithCompilation(3);
+        addInitiatorWithCompilation(3);
+        Map<String, Long> before = measureListings();
+
+        addInitiatorWithCompilation(3);
+        addInitiatorWithCompilation(3);
+        addEvents(initiatorIds.getFirst(), 3);
+        Map<String, Long> after = measureListings();
+
+        report("Число SQL-запросов на списочных эндпоинтах: {}", after);
+        assertThat(before).isEqualTo(EXPECTED_STATEMENTS);
+        assertThat(after).isEqualTo(EXPECTED_STATEMENTS);
+    }
+
+    private Map<String, Long> measureListings() {
+        Map<String, Long> statements = new LinkedHashMap<>();
+        statements.put("/events", statements("/events?categories=" + categoryId));
+        statements.put("/events/scroll", statements("/events/scroll?categories=" + categoryId));
+        statements.put("/admin/events", statements("/admin/events?categories=" + categoryId));
+        statements.put("/admin/events/scroll", statements("/admin/events/scroll?categories=" + categoryId));
+        statements.put("/users/{id}/events", statements("/users/" + initiatorIds.getFirst() + "/events"));
+        statements.put("/users/{id}/subscriptions/events", statements("/users/" + followerId + "/subscriptions/events"));
+        statements.put("/compilations", statements("/compilations?pinned=true"));
+        return statements;
+    }
+
+    // Первый запрос прогревает кэш второго уровня, считается только второй
+    private long statements(String path) {
+        sendForJson("GET", path, null, 200);
+        statistics.clear();
+        sendForJson("GET", path, null, 200);
+        return statistics.getPrepareStatementCount();
+    }
+
+    private void addInitiatorWithCompilation(int events) {
+        long initiatorId = createUser();
+        initiatorIds.add(initiatorId);
+        sendForJson("POST", "/users/" + followerId + "/subscriptions", Map.of("ownerId", initiatorId), 201);
+        sendForJson("POST", "/admin/compilations",
+                Map.of("title", "Compilation of " + initiatorId, "pinned", true, "events", addEvents(initiatorId, events)),
+                201);
+    }
+
+    private List<Long> addEvents(long initiatorId, int count) {
+        List<Long> eventIds = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            eventIds.add(createPublishedEvent(initiatorId, categoryId, 0, false));
+        }
+        return eventIds;
+    }
+}
@@ -0,0 +1,57 @@
+package ru.practicum.ewm.event;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import ru.practicum.ewm.EwmIntegrationTest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * Обход событий по курсору: страницы без пропусков и повторов в порядке (eventDate, id),
+ * в том числе когда у нескольких событий одинаковая дата.
+ */
+class EventScrollTest extends EwmIntegrationTest {
+
+    private static final int EVENTS = 7;
+    private static final int PAGE_SIZE = 3;
+
+    @ParameterizedTest(name = "{0}")
+    @ValueSource(strings = {"/events/scroll", "/admin/events/scroll"})
+    void pagesCoverAllEventsInKeyOrder(String path) {
+        long categoryId = createCategory();
+        long initiatorId = createUser();
+        List<Long> expected = new ArrayList<>();
+        for (int i = 0; i < EVENTS; i++) {
+            expected.add(createPublishedEvent(initiatorId, categoryId, 0, false));
+        }
+        // Одинаковая дата у всех событий: порядок и продолжение определяет id
+        jdbcTemplate.update("UPDATE events SET event_date = DATEADD('DAY', 5, LOCALTIMESTAMP(0)) WHERE category_id = ?",
+                categoryId);
+
+        List<Long> scrolled = new ArrayList<>();
+        List<Integer> pageSizes = new ArrayList<>();
+        String cursor = null;
+        do {
+            JsonNode page = sendForJson("GET", path + "?categories=" + categoryId + "&size=" + PAGE_SIZE
+                    + (cursor == null ? "" : "&cursor=" + cursor), null, 200);
+            page.get("events").forEach(event -> {
+                scrolled.add(event.get("id").asLong());
+                assertThat(event.get("category").get("id").asLong()).isEqualTo(categoryId);
+                assertThat(event.get("initiator").get("id").asLong()).isEqualTo(initiatorId);
+                if (path.startsWith("/admin")) {
+                    assertThat(event.get("location").get("lat").asDouble()).isCloseTo(55.75, within(0.001));
+                }
+            });
+            pageSizes.add(page.get("events").size());
+            cursor = page.path("nextCursor").asText(null);
+        } while (cursor != null);
+
+        assertThat(scrolled).isEqualTo(expected);
+        assertThat(pageSizes).containsExactly(3, 3, 1);
+    }
+}
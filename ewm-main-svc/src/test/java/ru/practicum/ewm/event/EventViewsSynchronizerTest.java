@@ -0,0 +1,64 @@
+package ru.practicum.ewm.event;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import ru.practicum.ewm.EwmIntegrationTest;
+import ru.practicum.ewm.event.service.EventViewsSynchronizer;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Синхронизация просмотров обновляет колонку views одним UPDATE на пачку: новые значения записываются,
+ * меньшие или равные сохранённым не трогают строку и её updated_on.
+ */
+class EventViewsSynchronizerTest extends EwmIntegrationTest {
+
+    @Autowired
+    private EventViewsSynchronizer eventViewsSynchronizer;
+
+    @Value("${ewm.views.sync-batch-size:100}")
+    private int batchSize;
+
+    @Test
+    void synchronizeRaisesViewsAcrossBatches() {
+        long initiatorId = createUser();
+        long categoryId = createCategory();
+        // Больше одной пачки, чтобы обход продолжился после первого UPDATE
+        List<Long> eventIds = new ArrayList<>();
+        IntStream.range(0, batchSize + 2).forEach(i -> eventIds.add(createPublishedEvent(initiatorId, categoryId, 0, false)));
+        long viewed = eventIds.getFirst();
+        long overtaken = eventIds.get(1);
+        long lastViewed = eventIds.getLast();
+        long unseen = eventIds.get(2);
+
+        send("GET", "/events/" + viewed, null);
+        send("GET", "/events/" + overtaken, null);
+        send("GET", "/events/" + lastViewed, null);
+        jdbcTemplate.update("UPDATE events SET views = 5 WHERE id = ?", overtaken);
+        Timestamp overtakenUpdatedOn = updatedOn(overtaken);
+        Timestamp unseenUpdatedOn = updatedOn(unseen);
+
+        eventViewsSynchronizer.synchronize();
+
+        assertThat(views(viewed)).isEqualTo(1);
+        assertThat(views(lastViewed)).isEqualTo(1);
+        assertThat(views(overtaken)).isEqualTo(5);
+        assertThat(views(unseen)).isZero();
+        assertThat(updatedOn(overtaken)).isEqualTo(overtakenUpdatedOn);
+        assertThat(updatedOn(unseen)).isEqualTo(unseenUpdatedOn);
+    }
+
+    private long views(long eventId) {
+        return jdbcTemplate.queryForObject("SELECT views FROM events WHERE id = ?", Long.class, eventId);
+    }
+
+    private Timestamp updatedOn(long eventId) {
+        return jdbcTemplate.queryForObject("SELECT updated_on FROM events WHERE id = ?", Timestamp.class, eventId);
+    }
+}
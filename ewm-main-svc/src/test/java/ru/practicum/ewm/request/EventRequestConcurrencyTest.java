@@ -0,0 +1,105 @@
+package ru.practicum.ewm.request;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.junit.jupiter.api.Test;
+import ru.practicum.ewm.EwmIntegrationTest;
+
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Нагрузочная проверка лимита участников: тысячи одновременных заявок на одно событие
+ * не должны подтвердить больше participantLimit ни при автоподтверждении, ни при подтверждении инициатором.
+ */
+class EventRequestConcurrencyTest extends EwmIntegrationTest {
+
+    private static final int PARTICIPANT_LIMIT = 50;
+    private static final int PARTICIPANTS = 2000;
+    private static final int CONFIRM_BATCH_SIZE = 10;
+
+    @Test
+    void autoConfirmedRequestsNeverExceedLimit() throws Exception {
+        long initiatorId = createUser();
+        long eventId = createPublishedEvent(initiatorId, createCategory(), PARTICIPANT_LIMIT, false);
+        List<Long> userIds = createUsers(PARTICIPANTS);
+
+        long startedAt = System.nanoTime();
+        List<Integer> statuses = runConcurrently(userIds.stream()
+                .map(userId -> (Callable<Integer>) () ->
+                        send("POST", "/users/" + userId + "/requests?eventId=" + eventId, null).statusCode())
+                .toList());
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+        report("Автоподтверждение: {} одновременных заявок при лимите {} за {} мс, {} заявок/с",
+                PARTICIPANTS, PARTICIPANT_LIMIT, elapsedMillis, PARTICIPANTS * 1000L / Math.max(elapsedMillis, 1));
+
+        assertThat(countByStatus(statuses)).containsExactlyInAnyOrderEntriesOf(Map.of(
+                201, (long) PARTICIPANT_LIMIT,
+                409, (long) (PARTICIPANTS - PARTICIPANT_LIMIT)));
+        assertThat(countRequests(eventId, "CONFIRMED")).isEqualTo(PARTICIPANT_LIMIT);
+        assertThat(confirmedRequests(eventId)).isEqualTo(PARTICIPANT_LIMIT);
+    }
+
+    @Test
+    void concurrentConfirmationsNeverExceedLimit() throws Exception {
+        long initiatorId = createUser();
+        long eventId = createPublishedEvent(initiatorId, createCategory(), PARTICIPANT_LIMIT, true);
+        List<Long> userIds = createUsers(PARTICIPANTS);
+
+        List<Integer> created = runConcurrently(userIds.stream()
+                .map(userId -> (Callable<Integer>) () ->
+                        send("POST", "/users/" + userId + "/requests?eventId=" + eventId, null).statusCode())
+                .toList());
+        assertThat(created).containsOnly(201);
+        assertThat(countRequests(eventId, "PENDING")).isEqualTo(PARTICIPANTS);
+
+        List<Long> requestIds = jdbcTemplate.queryForList("SELECT id FROM requests WHERE event_id = ? ORDER BY id",
+                Long.class, eventId);
+        List<Callable<HttpResponse<String>>> confirmations = new ArrayList<>();
+        for (int from = 0; from < requestIds.size(); from += CONFIRM_BATCH_SIZE) {
+            List<Long> batch = requestIds.subList(from, Math.min(from + CONFIRM_BATCH_SIZE, requestIds.size()));
+            confirmations.add(() -> send("PATCH", "/users/" + initiatorId + "/events/" + eventId + "/requests",
+                    Map.of("requestIds", batch, "status", "CONFIRMED")));
+        }
+
+        long startedAt = System.nanoTime();
+        List<HttpResponse<String>> responses = runConcurrently(confirmations);
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+        report("Подтверждение инициатором: {} одновременных PATCH по {} заявок при лимите {} за {} мс, {} PATCH/с",
+                confirmations.size(), CONFIRM_BATCH_SIZE, PARTICIPANT_LIMIT, elapsedMillis,
+                confirmations.size() * 1000L / Math.max(elapsedMillis, 1));
+
+        long confirmedInResponses = 0;
+        for (HttpResponse<String> response : responses) {
+            assertThat(response.statusCode()).isIn(200, 409);
+            if (response.statusCode() == 200) {
+                JsonNode result = objectMapper.readTree(response.body());
+                confirmedInResponses += result.get("confirmedRequests").size();
+            }
+        }
+        assertThat(confirmedInResponses).isEqualTo(PARTICIPANT_LIMIT);
+        assertThat(countRequests(eventId, "CONFIRMED")).isEqualTo(PARTICIPANT_LIMIT);
+        assertThat(countRequests(eventId, "REJECTED")).isEqualTo(PARTICIPANTS - PARTICIPANT_LIMIT);
+        assertThat(confirmedRequests(eventId)).isEqualTo(PARTICIPANT_LIMIT);
+    }
+
+    private Map<Integer, Long> countByStatus(List<Integer> statuses) {
+        return statuses.stream().collect(Collectors.groupingBy(Function.identity(), Collectors.counting()));
+    }
+
+    private long countRequests(long eventId, String status) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM requests WHERE event_id = ? AND status = ?",
+                Long.class, eventId, status);
+    }
+
+    private long confirmedRequests(long eventId) {
+        return jdbcTemplate.queryForObject("SELECT confirmed_requests FROM events WHERE id = ?", Long.class, eventId);
+    }
+}
@@ -0,0 +1,231 @@
+package ru.practicum.stat;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.http.HttpServletRequest;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+import org.springframework.web.util.UriComponentsBuilder;
+import ru.practicum.stat.base.BaseClient;
+import ru.practicum.stat.dedup.HitDeduplicator;
+import ru.practicum.stat.outbox.DeliveryResult;
+import ru.practicum.stat.outbox.HitOutbox;
+import ru.practicum.stat.resilience.StatsCallExecutor;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Service
+@ConditionalOnProperty(name = "stats-server.mode", havingValue = "remote", matchIfMissing = true)
+public class HttpStatisticsClient extends BaseClient implements StatisticsClient {
+
+    private static final DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private static final JsonFactory jsonFactory = new JsonFactory();
+    private static final int MAX_CACHED_URIS = 10_000;
+
+    private final String appName;
+    private final StatsCallExecutor callExecutor;
+    private final HitOutbox outbox;
+    private final HitDeduplicator deduplicator;
+    private final Map<String, Long> lastKnownHits = new ConcurrentHashMap<>();
+
+    @Autowired
+    public HttpStatisticsClient(@Value("${stats-server.url}") String serverUrl,
+                            @Value("${app.name}") String appName,
+                            @Value("${stats-client.connect-timeout-ms:500}") long connectTimeoutMillis,
+                            @Value("${stats-client.read-timeout-ms:1000}") long readTimeoutMillis,
+                            @Value("${stats-client.bulkhead.max-concurrent-calls:20}") int maxConcurrentCalls,
+                            RestTemplateBuilder builder,
+                            StatsCallExecutor callExecutor,
+                            HitOutbox outbox,
+                            HitDeduplicator deduplicator) {
+        super(
+                builder
+                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl))
+                        .requestFactory(() -> requestFactory(connectTimeoutMillis, readTimeoutMillis, maxConcurrentCalls))
+                        .build(),
+                serverUrl
+        );
+        this.appName = appName;
+        this.callExecutor = callExecutor;
+        this.outbox = outbox;
+        this.deduplicator = deduplicator;
+    }
+
+    @PostConstruct
+    public void startOutbox() {
+        outbox.start(this::sendBatch);
+    }
+
+    @Override
+    public ResponseEntity<Object> create(HttpServletRequest request) {
+        if (!deduplicator.shouldSend(request.getRemoteAddr(), request.getRequestURI())) {
+            return ResponseEntity.noContent().build();
+        }
+
+        EndpointHitCreateDto endpointHitCreateDto = EndpointHitCreateDto.builder()
+                .app(appName)
+                .uri(request.getRequestURI())
+                .ip(request.getRemoteAddr())
+                .timestamp(LocalDateTime.now())
+                .build();
+        return callExecutor.execute(() -> {
+            ResponseEntity<Object> response = post(endpointHitCreateDto);
+            if (response.getStatusCode().is5xxServerError()) {
+                throw new IllegalStateException("Сервис статистики вернул статус " + response.getStatusCode());
+            }
+            return response;
+        }, () -> defer(endpointHitCreateDto));
+    }
+
+    @Override
+    public ResponseEntity<Object> getStats(LocalDateTime start, LocalDateTime end, List<String> uris, Boolean unique) {
+        return callExecutor.executeHedged(() -> {
+            ResponseEntity<Object> response = get(buildStatsPath(start, end, uris, unique));
+            if (response.getStatusCode().is5xxServerError()) {
+                throw new IllegalStateException("Сервис статистики вернул статус " + response.getStatusCode());
+            }
+            return response;
+        }, () -> ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build());
+    }
+
+    @Override
+    public List<ViewStatsDto> getViewStats(LocalDateTime start, LocalDateTime end, List<String> uris, Boolean unique) {
+        return callExecutor.executeHedged(() -> {
+            ViewStatsDto[] stats = get(buildStatsPath(start, end, uris, unique), ViewStatsDto[].class);
+            List<ViewStatsDto> result = stats != null ? Arrays.asList(stats) : List.of();
+            result.forEach(stat -> rememberHits(stat.getUri(), stat.getHits()));
+            return result;
+        }, () -> cachedHits(uris).entrySet().stream()
+                .map(entry -> new ViewStatsDto(appName, entry.getKey(), entry.getValue()))
+                .toList());
+    }
+
+    @Override
+    public Map<String, Long> getHits(LocalDateTime start, LocalDateTime end, List<String> uris, Boolean unique) {
+        return callExecutor.executeHedged(() -> {
+            Map<String, Long> hits = get(buildStatsPath(start, end, uris, unique), HttpStatisticsClient::readHits);
+            hits.forEach(this::rememberHits);
+            return hits;
+        }, () -> cachedHits(uris));
+    }
+
+    private ResponseEntity<Object> defer(EndpointHitCreateDto endpointHitCreateDto) {
+        if (outbox.append(endpointHitCreateDto)) {
+            return ResponseEntity.accepted().build();
+        }
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+    }
+
+    // Ответ с ошибкой на конкретную пачку не считается отказом сервиса для circuit breaker
+    private DeliveryResult sendBatch(List<EndpointHitCreateDto> hits) {
+        return callExecutor.execute(() -> {
+            HttpStatusCode status = post("/hits", hits).getStatusCode();
+            if (status.is2xxSuccessful()) {
+                return DeliveryResult.DELIVERED;
+            }
+            return status.is4xxClientError() ? DeliveryResult.REJECTED : DeliveryResult.FAILED;
+        }, () -> DeliveryResult.RETRY);
+    }
+
+    // Последние полученные значения отдаются, пока сервис статистики недоступен
+    private Map<String, Long> cachedHits(List<String> uris) {
+        Map<String, Long> hits = new HashMap<>();
+        if (uris != null) {
+            uris.forEach(uri -> hits.put(uri, lastKnownHits.getOrDefault(uri, 0L)));
+        }
+        return hits;
+    }
+
+    private void rememberHits(String uri, Long hits) {
+        if (uri == null || hits == null) {
+            return;
+        }
+        if (lastKnownHits.size() >= MAX_CACHED_URIS && !lastKnownHits.containsKey(uri)) {
+            lastKnownHits.clear();
+        }
+        lastKnownHits.put(uri, hits);
+    }
+
+    private static HttpComponentsClientHttpRequestFactory requestFactory(long connectTimeoutMillis, long readTimeoutMillis,
+                                                                         int maxConnections) {
+        PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.ofMilliseconds(connectTimeoutMillis))
+                        .setSocketTimeout(Timeout.ofMilliseconds(readTimeoutMillis))
+                        .build())
+                .setMaxConnTotal(maxConnections * 2)
+                .setMaxConnPerRoute(maxConnections * 2)
+                .build();
+        RequestConfig requestConfig = RequestConfig.custom()
+                .setConnectionRequestTimeout(Timeout.ofMilliseconds(connectTimeoutMillis))
+                .setResponseTimeout(Timeout.ofMilliseconds(readTimeoutMillis))
+                .build();
+        return new HttpComponentsClientHttpRequestFactory(HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(requestConfig)
+                .build());
+    }
+
+    private String buildStatsPath(LocalDateTime start, LocalDateTime end, List<String> uris, Boolean unique) {
+        UriComponentsBuilder builder = UriComponentsBuilder.fromPath("/stats")
+                .queryParam("start", start.format(formatter))
+                .queryParam("end", end.format(formatter))
+                .queryParam("unique", unique);
+
+        if (uris != null && !uris.isEmpty()) {
+            builder.queryParam("uris", uris);
+        }
+
+        return builder.build().toUriString();
+    }
+
+    static Map<String, Long> readHits(ClientHttpResponse response) throws IOException {
+        Map<String, Long> hits = new HashMap<>();
+        try (JsonParser parser = jsonFactory.createParser(response.getBody())) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                return hits;
+            }
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                String uri = null;
+                long count = 0L;
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String field = parser.currentName();
+                    parser.nextToken();
+                    switch (field) {
+                        case "uri" -> uri = parser.getValueAsString();
+                        case "hits" -> count = parser.getValueAsLong();
+                        default -> parser.skipChildren();
+                    }
+                }
+                if (uri != null) {
+                    hits.put(uri, count);
+                }
+            }
+        }
+        return hits;
+    }
+}
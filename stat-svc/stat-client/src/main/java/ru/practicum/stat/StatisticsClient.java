@@ -1,65 +1,19 @@
 package ru.practicum.stat;
 
 import jakarta.servlet.http.HttpServletRequest;
-import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
-import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
-import org.springframework.web.util.UriComponentsBuilder;
-import ru.practicum.stat.base.BaseClient;
 
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
 import java.util.List;
+import java.util.Map;
 
-@Service
-public class StatisticsClient extends BaseClient {
+public interface StatisticsClient {
 
-    private static final DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    ResponseEntity<Object> create(HttpServletRequest request);
 
-    private final String appName;
+    ResponseEntity<Object> getStats(LocalDateTime start, LocalDateTime end, List<String> uris, Boolean unique);
 
-    @Autowired
-    public StatisticsClient(@Value("${stats-server.url}") String serverUrl,
-                            @Value("${app.name}") String appName,
-                            RestTemplateBuilder builder) {
-        super(
-                builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl))
-                        .requestFactory(() -> new HttpComponentsClientHttpRequestFactory())
-                        .build(),
-                serverUrl
-        );
-        this.appName = appName;
-    }
+    List<ViewStatsDto> getViewStats(LocalDateTime start, LocalDateTime end, List<String> uris, Boolean unique);
 
-    public ResponseEntity<Object> create(HttpServletRequest request) {
-
-        EndpointHitCreateDto endpointHitCreateDto = EndpointHitCreateDto.builder()
-                .app(appName)
-                .uri(request.getRequestURI())
-                .ip(request.getRemoteAddr())
-                .timestamp(LocalDateTime.now())
-                .build();
-        return post(endpointHitCreateDto);
-    }
-
-    public ResponseEntity<Object> getStats(LocalDateTime start, LocalDateTime end, List<String> uris, Boolean unique) {
-
-        UriComponentsBuilder builder = UriComponentsBuilder.fromPath("/stats")
-                .queryParam("start", start.format(formatter))
-                .queryParam("end", end.format(formatter))
-                .queryParam("unique", unique);
-
-        if (uris != null && !uris.isEmpty()) {
-            builder.queryParam("uris", uris);
-        }
-
-        String url = builder.build().toUriString();
-
-        return get(url);
-    }
+    Map<String, Long> getHits(LocalDateTime start, LocalDateTime end, List<String> uris, Boolean unique);
 }
@@ -3,6 +3,7 @@ package ru.practicum.stat.base;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.*;
 import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.ResponseExtractor;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.beans.factory.annotation.Value;
 import java.util.List;
@@ -22,11 +23,29 @@ public class BaseClient {
         return makeAndSendRequest(statsUri + path);
     }
 
+    protected <T> T get(String path, Class<T> responseType) {
+        HttpEntity<Void> requestEntity = new HttpEntity<>(null, defaultHeaders());
+        log.info("Отправка GET запроса на URL: {}", statsUri + path);
+        ResponseEntity<T> responseEntity = rest.exchange(statsUri + path, HttpMethod.GET, requestEntity, responseType);
+        log.info("Получен ответ от сервиса статистики, статус: {}", responseEntity.getStatusCode());
+        return responseEntity.getBody();
+    }
+
+    protected <T> T get(String path, ResponseExtractor<T> extractor) {
+        HttpEntity<Void> requestEntity = new HttpEntity<>(null, defaultHeaders());
+        log.info("Отправка GET запроса на URL: {}", statsUri + path);
+        return rest.execute(statsUri + path, HttpMethod.GET, rest.httpEntityCallback(requestEntity), extractor);
+    }
+
     protected ResponseEntity<Object> post(Object body) {
+        return post("/hit", body);
+    }
+
+    protected ResponseEntity<Object> post(String path, Object body) {
         HttpEntity<Object> requestEntity = new HttpEntity<>(body);
         try {
-            log.info("Отправка POST запроса на URL: {}, тело: {}", statsUri + "/hit", body);
-            ResponseEntity<Object> response = rest.postForEntity(statsUri + "/hit", requestEntity, Object.class);
+            log.info("Отправка POST запроса на URL: {}, тело: {}", statsUri + path, body);
+            ResponseEntity<Object> response = rest.postForEntity(statsUri + path, requestEntity, Object.class);
             log.info("Получен ответ от сервиса статистики, статус: {}", response.getStatusCode());
             return response;
         } catch (HttpStatusCodeException e) {
@@ -0,0 +1,82 @@
+package ru.practicum.stat.dedup;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Подавляет повторные просмотры одного uri с одного ip внутри окна.
+ * Ключи хранятся в двух поколениях (текущий и предыдущий интервал), поэтому фактическое окно
+ * составляет от window-seconds до удвоенного значения.
+ */
+@Slf4j
+@Component
+public class HitDeduplicator {
+
+    private final boolean enabled;
+    private final long windowMillis;
+    private final int maxKeys;
+    private final Counter suppressedHits;
+    private final Counter passedHits;
+
+    private volatile Generation current = new Generation(-1, Set.of());
+    private volatile Generation previous = current;
+
+    public HitDeduplicator(@Value("${stats-client.dedup.enabled:false}") boolean enabled,
+                           @Value("${stats-client.dedup.window-seconds:10}") long windowSeconds,
+                           @Value("${stats-client.dedup.max-keys:100000}") int maxKeys,
+                           MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.windowMillis = windowSeconds * 1000;
+        this.maxKeys = maxKeys;
+        this.suppressedHits = Counter.builder("stats.client.hits.suppressed")
+                .description("Повторные просмотры, не отправленные в сервис статистики")
+                .register(meterRegistry);
+        this.passedHits = Counter.builder("stats.client.hits.passed")
+                .description("Просмотры, прошедшие фильтр повторов")
+                .register(meterRegistry);
+    }
+
+    public boolean shouldSend(String ip, String uri) {
+        if (!enabled) {
+            return true;
+        }
+        long bucket = System.currentTimeMillis() / windowMillis;
+        Generation generation = generationFor(bucket);
+        String key = ip + '|' + uri;
+        Generation prev = previous;
+        boolean duplicate = prev.bucket() == bucket - 1 && prev.keys().contains(key)
+                || generation.keys().size() < maxKeys && !generation.keys().add(key);
+        if (duplicate) {
+            suppressedHits.increment();
+            log.debug("Повторный просмотр {} с ip {} не отправлен", uri, ip);
+            return false;
+        }
+        passedHits.increment();
+        return true;
+    }
+
+    private Generation generationFor(long bucket) {
+        Generation generation = current;
+        if (generation.bucket() == bucket) {
+            return generation;
+        }
+        synchronized (this) {
+            generation = current;
+            if (generation.bucket() < bucket) {
+                previous = generation;
+                generation = new Generation(bucket, ConcurrentHashMap.newKeySet());
+                current = generation;
+            }
+            return generation;
+        }
+    }
+
+    private record Generation(long bucket, Set<String> keys) {
+    }
+}
@@ -0,0 +1,14 @@
+package ru.practicum.stat.outbox;
+
+/**
+ * Результат отправки пачки просмотров из журнала статистики.
+ */
+public enum DeliveryResult {
+    DELIVERED,
+    /** Сервис статистики отклонил пачку (4xx), повторная отправка не поможет */
+    REJECTED,
+    /** Сервис статистики ответил ошибкой 5xx, после max-replay-attempts таких ответов пачка считается непринимаемой */
+    FAILED,
+    /** Сервис статистики недоступен, пачку нужно отправить позже */
+    RETRY
+}
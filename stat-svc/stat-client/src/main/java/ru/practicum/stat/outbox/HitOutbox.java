@@ -0,0 +1,325 @@
+package ru.practicum.stat.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import ru.practicum.stat.EndpointHitCreateDto;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Журнал просмотров, которые не удалось отправить в сервис статистики.
+ * Запрос только кладёт просмотр в очередь, запись в файл и повторная отправка выполняются фоновыми потоками.
+ * Пачки, которые сервис отклонил или не смог принять за max-replay-attempts попыток, переносятся в hits.dead,
+ * чтобы не блокировать отправку остальных просмотров.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "stats-server.mode", havingValue = "remote", matchIfMissing = true)
+public class HitOutbox {
+
+    private static final String ACTIVE_FILE = "hits.ndjson";
+    private static final String REPLAY_SUFFIX = ".replay";
+    private static final String DEAD_LETTER_FILE = "hits.dead";
+    private static final int MAX_WRITE_BATCH = 1000;
+
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final Path directory;
+    private final BlockingQueue<EndpointHitCreateDto> queue;
+    private final long replayIntervalMillis;
+    private final int batchSize;
+    private final int maxHitsPerSecond;
+    private final int maxReplayAttempts;
+
+    private final Object fileLock = new Object();
+    private final AtomicLong droppedHits = new AtomicLong();
+    private volatile boolean running;
+    private Thread writerThread;
+    private ScheduledExecutorService replayScheduler;
+    private FileChannel channel;
+    private BufferedWriter writer;
+    private String failedBatchKey;
+    private int failedBatchAttempts;
+
+    public HitOutbox(ObjectMapper objectMapper,
+                     @Value("${stats-client.outbox.enabled:true}") boolean enabled,
+                     @Value("${stats-client.outbox.dir:${java.io.tmpdir}/ewm-stats-outbox}") String directory,
+                     @Value("${stats-client.outbox.queue-capacity:10000}") int queueCapacity,
+                     @Value("${stats-client.outbox.replay-interval-ms:5000}") long replayIntervalMillis,
+                     @Value("${stats-client.outbox.batch-size:100}") int batchSize,
+                     @Value("${stats-client.outbox.max-hits-per-second:200}") int maxHitsPerSecond,
+                     @Value("${stats-client.outbox.max-replay-attempts:20}") int maxReplayAttempts) {
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.directory = Path.of(directory);
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.replayIntervalMillis = replayIntervalMillis;
+        this.batchSize = batchSize;
+        this.maxHitsPerSecond = maxHitsPerSecond;
+        this.maxReplayAttempts = maxReplayAttempts;
+    }
+
+    public synchronized void start(Function<List<EndpointHitCreateDto>, DeliveryResult> sender) {
+        if (!enabled || running) {
+            return;
+        }
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            log.error("Не удалось создать каталог журнала статистики {}: {}", directory, e.getMessage());
+            return;
+        }
+        running = true;
+        writerThread = Thread.ofPlatform().daemon().name("stats-outbox-writer").start(this::writeLoop);
+        replayScheduler = Executors.newSingleThreadScheduledExecutor(
+                runnable -> Thread.ofPlatform().daemon().name("stats-outbox-replay").unstarted(runnable));
+        replayScheduler.scheduleWithFixedDelay(() -> replay(sender),
+                replayIntervalMillis, replayIntervalMillis, TimeUnit.MILLISECONDS);
+        log.info("Журнал статистики запущен, каталог: {}", directory);
+    }
+
+    public boolean append(EndpointHitCreateDto hit) {
+        if (!running) {
+            return false;
+        }
+        if (!queue.offer(hit)) {
+            log.warn("Очередь журнала статистики переполнена, просмотр потерян. Всего потеряно: {}",
+                    droppedHits.incrementAndGet());
+            return false;
+        }
+        return true;
+    }
+
+    @PreDestroy
+    public synchronized void shutdown() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        replayScheduler.shutdownNow();
+        try {
+            writerThread.join(TimeUnit.SECONDS.toMillis(2));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        synchronized (fileLock) {
+            closeWriter();
+        }
+    }
+
+    private void writeLoop() {
+        List<EndpointHitCreateDto> batch = new ArrayList<>();
+        while (running || !queue.isEmpty()) {
+            try {
+                EndpointHitCreateDto first = queue.poll(500, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, MAX_WRITE_BATCH - 1);
+                write(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (IOException e) {
+                log.error("Не удалось записать {} просмотров в журнал статистики: {}", batch.size(), e.getMessage());
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void write(List<EndpointHitCreateDto> batch) throws IOException {
+        synchronized (fileLock) {
+            if (writer == null) {
+                channel = FileChannel.open(directory.resolve(ACTIVE_FILE),
+                        StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+                writer = new BufferedWriter(Channels.newWriter(channel, StandardCharsets.UTF_8));
+            }
+            for (EndpointHitCreateDto hit : batch) {
+                writer.write(objectMapper.writeValueAsString(hit));
+                writer.newLine();
+            }
+            writer.flush();
+            channel.force(false);
+        }
+    }
+
+    private void replay(Function<List<EndpointHitCreateDto>, DeliveryResult> sender) {
+        try {
+            rotate();
+            List<Path> files;
+            try (Stream<Path> paths = Files.list(directory)) {
+                files = paths.filter(path -> path.getFileName().toString().endsWith(REPLAY_SUFFIX))
+                        .sorted()
+                        .toList();
+            }
+            for (Path file : files) {
+                if (!replayFile(file, sender)) {
+                    return;
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            log.error("Ошибка при повторной отправке просмотров из журнала статистики: {}", e.getMessage());
+        }
+    }
+
+    private void rotate() throws IOException {
+        synchronized (fileLock) {
+            closeWriter();
+            Path active = directory.resolve(ACTIVE_FILE);
+            if (Files.exists(active) && Files.size(active) > 0) {
+                Path target = directory.resolve(String.format("hits-%020d%s", System.currentTimeMillis(), REPLAY_SUFFIX));
+                Files.move(active, target, StandardCopyOption.ATOMIC_MOVE);
+            }
+        }
+    }
+
+    private boolean replayFile(Path file, Function<List<EndpointHitCreateDto>, DeliveryResult> sender)
+            throws IOException {
+        long linesRead = 0;
+        long linesSent = 0;
+        long replayed = 0;
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            List<EndpointHitCreateDto> batch = new ArrayList<>(batchSize);
+            List<String> batchLines = new ArrayList<>(batchSize);
+            String line;
+            while (true) {
+                line = reader.readLine();
+                if (line != null) {
+                    linesRead++;
+                    if (parse(line, batch)) {
+                        batchLines.add(line);
+                    }
+                }
+                if (!batch.isEmpty() && (batch.size() >= batchSize || line == null)) {
+                    DeliveryResult result = sendThrottled(batch, sender);
+                    if (result == DeliveryResult.DELIVERED) {
+                        replayed += batch.size();
+                    } else if (isUndeliverable(result, file, batchLines)) {
+                        deadLetter(batchLines);
+                        log.warn("Пачка из {} просмотров из {} не принята сервисом статистики ({}), перенесена в {}",
+                                batch.size(), file.getFileName(), result, DEAD_LETTER_FILE);
+                    } else {
+                        keepUnsent(file, linesSent);
+                        log.info("Сервис статистики недоступен, повторная отправка отложена. Отправлено из {}: {}",
+                                file.getFileName(), replayed);
+                        return false;
+                    }
+                    batch.clear();
+                    batchLines.clear();
+                }
+                if (line == null) {
+                    break;
+                }
+                if (batch.isEmpty()) {
+                    linesSent = linesRead;
+                }
+            }
+        }
+        Files.delete(file);
+        log.info("Из журнала статистики повторно отправлено {} просмотров", replayed);
+        return true;
+    }
+
+    private boolean parse(String line, List<EndpointHitCreateDto> batch) {
+        if (line.isBlank()) {
+            return false;
+        }
+        try {
+            batch.add(objectMapper.readValue(line, EndpointHitCreateDto.class));
+            return true;
+        } catch (IOException e) {
+            log.warn("Пропущена повреждённая запись журнала статистики: {}", line);
+            return false;
+        }
+    }
+
+    // Пачка после keepUnsent оказывается в начале файла, поэтому попытки считаются по её первой строке
+    private boolean isUndeliverable(DeliveryResult result, Path file, List<String> batchLines) {
+        if (result != DeliveryResult.FAILED) {
+            return result == DeliveryResult.REJECTED;
+        }
+        String key = file.getFileName() + ":" + batchLines.getFirst();
+        if (!key.equals(failedBatchKey)) {
+            failedBatchKey = key;
+            failedBatchAttempts = 0;
+        }
+        if (++failedBatchAttempts < maxReplayAttempts) {
+            return false;
+        }
+        failedBatchKey = null;
+        return true;
+    }
+
+    private void deadLetter(List<String> lines) throws IOException {
+        Files.write(directory.resolve(DEAD_LETTER_FILE), lines, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+    private DeliveryResult sendThrottled(List<EndpointHitCreateDto> batch,
+                                         Function<List<EndpointHitCreateDto>, DeliveryResult> sender) {
+        long startedAt = System.nanoTime();
+        DeliveryResult result = sender.apply(List.copyOf(batch));
+        if (result != DeliveryResult.DELIVERED) {
+            return result;
+        }
+        long minDurationMillis = batch.size() * 1000L / maxHitsPerSecond;
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+        if (elapsedMillis < minDurationMillis) {
+            try {
+                Thread.sleep(minDurationMillis - elapsedMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        return result;
+    }
+
+    private void keepUnsent(Path file, long linesSent) throws IOException {
+        if (linesSent == 0) {
+            return;
+        }
+        Path remaining = file.resolveSibling(file.getFileName() + ".tmp");
+        try (Stream<String> lines = Files.lines(file, StandardCharsets.UTF_8)) {
+            Files.write(remaining, (Iterable<String>) lines.skip(linesSent)::iterator, StandardCharsets.UTF_8);
+        }
+        Files.move(remaining, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private void closeWriter() {
+        if (writer == null) {
+            return;
+        }
+        try {
+            writer.close();
+        } catch (IOException e) {
+            log.error("Не удалось закрыть файл журнала статистики: {}", e.getMessage());
+        }
+        writer = null;
+        channel = null;
+    }
+}
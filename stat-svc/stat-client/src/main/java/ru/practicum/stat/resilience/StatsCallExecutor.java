@@ -0,0 +1,131 @@
+package ru.practicum.stat.resilience;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+@Slf4j
+@Component
+public class StatsCallExecutor {
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Semaphore bulkhead;
+    private final CircuitBreaker circuitBreaker;
+    private final long deadlineMillis;
+    private final boolean hedgingEnabled;
+    private final long hedgeDelayMillis;
+
+    public StatsCallExecutor(@Value("${stats-client.deadline-ms:1500}") long deadlineMillis,
+                             @Value("${stats-client.bulkhead.max-concurrent-calls:20}") int maxConcurrentCalls,
+                             @Value("${stats-client.circuit-breaker.failure-threshold:5}") int failureThreshold,
+                             @Value("${stats-client.circuit-breaker.open-duration-ms:10000}") long openDurationMillis,
+                             @Value("${stats-client.hedging.enabled:false}") boolean hedgingEnabled,
+                             @Value("${stats-client.hedging.delay-ms:200}") long hedgeDelayMillis) {
+        this.deadlineMillis = deadlineMillis;
+        this.bulkhead = new Semaphore(maxConcurrentCalls);
+        this.circuitBreaker = new CircuitBreaker(failureThreshold, openDurationMillis);
+        this.hedgingEnabled = hedgingEnabled;
+        this.hedgeDelayMillis = hedgeDelayMillis;
+    }
+
+    public <T> T execute(Supplier<T> call, Supplier<T> fallback) {
+        return execute(call, fallback, false);
+    }
+
+    public <T> T executeHedged(Supplier<T> call, Supplier<T> fallback) {
+        return execute(call, fallback, hedgingEnabled);
+    }
+
+    public CircuitBreaker.State getCircuitState() {
+        return circuitBreaker.getState();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private <T> T execute(Supplier<T> call, Supplier<T> fallback, boolean hedged) {
+        if (!bulkhead.tryAcquire()) {
+            log.warn("Превышен лимит одновременных запросов к сервису статистики");
+            return fallback.get();
+        }
+        if (!circuitBreaker.tryAcquirePermission()) {
+            bulkhead.release();
+            log.debug("Circuit breaker открыт, вызов сервиса статистики пропущен");
+            return fallback.get();
+        }
+        CompletableFuture<T> primary = submit(call);
+        try {
+            T result = hedged ? awaitHedged(primary, call) : primary.get(deadlineMillis, TimeUnit.MILLISECONDS);
+            circuitBreaker.onSuccess();
+            return result;
+        } catch (TimeoutException e) {
+            log.warn("Сервис статистики не ответил за {} мс", deadlineMillis);
+        } catch (ExecutionException e) {
+            log.warn("Ошибка при обращении к сервису статистики: {}", e.getCause().getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        circuitBreaker.onFailure();
+        return fallback.get();
+    }
+
+    private <T> T awaitHedged(CompletableFuture<T> primary, Supplier<T> call)
+            throws InterruptedException, ExecutionException, TimeoutException {
+        long startedAt = System.nanoTime();
+        try {
+            return primary.get(Math.min(hedgeDelayMillis, deadlineMillis), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            long remainingMillis = deadlineMillis - TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+            if (remainingMillis <= 0) {
+                throw e;
+            }
+            if (!bulkhead.tryAcquire()) {
+                return primary.get(remainingMillis, TimeUnit.MILLISECONDS);
+            }
+            log.debug("Отправлен дублирующий запрос к сервису статистики");
+            return firstSuccessful(primary, submit(call)).get(remainingMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private static <T> CompletableFuture<T> firstSuccessful(CompletableFuture<T> first, CompletableFuture<T> second) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        first.thenAccept(result::complete);
+        second.thenAccept(result::complete);
+        CompletableFuture.allOf(first, second)
+                .whenComplete((ignored, e) -> {
+                    if (e != null) {
+                        result.completeExceptionally(e instanceof CompletionException ? e.getCause() : e);
+                    }
+                });
+        return result;
+    }
+
+    // Вызывающий код должен предварительно занять место в bulkhead, оно освобождается по завершении вызова
+    private <T> CompletableFuture<T> submit(Supplier<T> call) {
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                try {
+                    return call.get();
+                } finally {
+                    bulkhead.release();
+                }
+            }, executor);
+        } catch (RuntimeException e) {
+            bulkhead.release();
+            throw e;
+        }
+    }
+}
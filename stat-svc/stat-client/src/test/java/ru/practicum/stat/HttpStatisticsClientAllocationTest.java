@@ -0,0 +1,90 @@
+package ru.practicum.stat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Сравнение памяти, выделяемой на разбор ответа /stats: прежний путь через дерево LinkedHashMap
+ * и ObjectMapper.convertValue против потокового readHits. Память считается по текущему потоку
+ * через ThreadMXBean.getThreadAllocatedBytes после прогрева.
+ */
+@Slf4j
+class HttpStatisticsClientAllocationTest {
+
+    private static final int WARM_UP = 2_000;
+    private static final int ITERATIONS = 2_000;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final com.sun.management.ThreadMXBean threads =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    // 10 — страница событий, 100 — пачка синхронизации просмотров, 1000 — крупная выгрузка статистики
+    @ParameterizedTest(name = "{0} uri")
+    @ValueSource(ints = {10, 100, 1000})
+    void readHitsAllocatesLessThanTreeConversion(int uris) throws IOException {
+        byte[] payload = statsPayload(uris);
+        assertThat(readHits(payload)).isEqualTo(convertTree(payload)).hasSize(uris);
+
+        Measurement tree = measure(() -> convertTree(payload));
+        Measurement streaming = measure(() -> readHits(payload));
+
+        log.info("/stats на {} uri ({} байт): дерево и convertValue {} байт и {} мкс, readHits {} байт и {} мкс",
+                uris, payload.length, tree.bytes(), String.format("%.1f", tree.micros()),
+                streaming.bytes(), String.format("%.1f", streaming.micros()));
+        assertThat(streaming.bytes()).isLessThan(tree.bytes() / 2);
+    }
+
+    private Map<String, Long> convertTree(byte[] payload) throws IOException {
+        Object body = objectMapper.readValue(new ByteArrayInputStream(payload), Object.class);
+        ViewStatsDto[] stats = objectMapper.convertValue(body, ViewStatsDto[].class);
+        return Arrays.stream(stats).collect(Collectors.toMap(ViewStatsDto::getUri, ViewStatsDto::getHits));
+    }
+
+    private static Map<String, Long> readHits(byte[] payload) throws IOException {
+        return HttpStatisticsClient.readHits(new MockClientHttpResponse(payload, HttpStatus.OK));
+    }
+
+    private Measurement measure(Parse parse) throws IOException {
+        for (int i = 0; i < WARM_UP; i++) {
+            parse.run();
+        }
+        long threadId = Thread.currentThread().threadId();
+        long allocatedBefore = threads.getThreadAllocatedBytes(threadId);
+        long startedAt = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            parse.run();
+        }
+        long elapsed = System.nanoTime() - startedAt;
+        long allocated = threads.getThreadAllocatedBytes(threadId) - allocatedBefore;
+        return new Measurement(allocated / ITERATIONS, elapsed / 1_000.0 / ITERATIONS);
+    }
+
+    private static byte[] statsPayload(int uris) {
+        return IntStream.rangeClosed(1, uris)
+                .mapToObj(i -> "{\"app\":\"ewm-main-service\",\"uri\":\"/events/" + i + "\",\"hits\":" + i * 17L + "}")
+                .collect(Collectors.joining(",", "[", "]"))
+                .getBytes(StandardCharsets.UTF_8);
+    }
+
+    private interface Parse {
+        Map<String, Long> run() throws IOException;
+    }
+
+    private record Measurement(long bytes, double micros) {
+    }
+}
@@ -10,5 +10,7 @@ import java.util.List;
 public interface StatisticsService {
     EndpointHitDto create(EndpointHitCreateDto endpoint);
 
+    List<EndpointHitDto> createAll(List<EndpointHitCreateDto> endpoints);
+
     List<ViewStatsDto> getStats(LocalDateTime start, LocalDateTime end, List<String> uris, Boolean unique);
 }
@@ -35,6 +35,17 @@ public class StatisticsServiceImpl implements StatisticsService {
         return EndpointHitMapper.toEndpointHitDto(createdHit);
     }
 
+    @Override
+    public List<EndpointHitDto> createAll(List<EndpointHitCreateDto> endpointHitCreateDtos) {
+        log.info("Создание {} EndpointHit одним пакетом", endpointHitCreateDtos.size());
+        List<EndpointHit> hits = endpointHitCreateDtos.stream()
+                .map(EndpointHitMapper::toEndpointHitFromCreateDto)
+                .collect(Collectors.toList());
+        return endpointHitRepository.saveAll(hits).stream()
+                .map(EndpointHitMapper::toEndpointHitDto)
+                .collect(Collectors.toList());
+    }
+
     @Override
     public List<ViewStatsDto> getStats(LocalDateTime start, LocalDateTime end, List<String> uris, Boolean unique) {
         log.info("Получение статистики с start={}, end={}, uris={}, unique={}", start, end, uris, unique);
@@ -29,6 +29,13 @@ public class StatsController {
         return statisticsService.create(endpoint);
     }
 
+    @PostMapping("/hits")
+    @ResponseStatus(HttpStatus.CREATED)
+    public List<EndpointHitDto> createAll(@RequestBody List<EndpointHitCreateDto> endpoints) {
+        log.info("POST запрос на создание {} EndpointHit", endpoints.size());
+        return statisticsService.createAll(endpoints);
+    }
+
     @GetMapping("/stats")
     public List<ViewStatsDto> getStats(
             @RequestParam @DateTimeFormat(pattern = "yyyy-MM-dd HH:mm:ss") LocalDateTime start,
@@ -6,4 +6,6 @@ CREATE TABLE IF NOT EXISTS endpoint(
     uri VARCHAR(255) NOT NULL,
     ip VARCHAR(15) NOT NULL,
     created TIMESTAMP WITHOUT TIME ZONE NOT NULL
-);
\ No newline at end of file
+);
+
+CREATE INDEX IF NOT EXISTS idx_endpoint_uri_created ON endpoint (uri, created);